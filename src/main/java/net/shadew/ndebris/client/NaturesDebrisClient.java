@@ -3,6 +3,9 @@ package net.shadew.ndebris.client;
 import net.fabricmc.api.ClientModInitializer;
 
 import net.shadew.ndebris.client.block.NdClientBlocks;
+import net.shadew.ndebris.client.debug.HeapAudit;
+import net.shadew.ndebris.client.model.StepModelProvider;
+import net.shadew.ndebris.client.model.SynthesizedModelProvider;
 import net.shadew.ndebris.common.NaturesDebris;
 
 public class NaturesDebrisClient extends NaturesDebris implements ClientModInitializer {
@@ -10,5 +13,8 @@ public class NaturesDebrisClient extends NaturesDebris implements ClientModIniti
     public void onInitializeClient() {
         onInitialize();
         NdClientBlocks.setupBlocksClient();
+        SynthesizedModelProvider.register();
+        StepModelProvider.register();
+        HeapAudit.register();
     }
 }
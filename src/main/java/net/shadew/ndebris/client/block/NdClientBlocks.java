@@ -4,30 +4,39 @@ import net.fabricmc.fabric.api.blockrenderlayer.v1.BlockRenderLayerMap;
 import net.fabricmc.fabric.api.client.rendering.v1.ColorProviderRegistry;
 import net.minecraft.client.render.RenderLayer;
 
+import net.shadew.ndebris.client.model.SolidOverlayBakedModel;
 import net.shadew.ndebris.common.block.NdBlocks;
 
 public class NdClientBlocks {
+    // TODO Biome colors coming later; the grass side overlay is composited with this color when models are baked
+    private static final int MURKY_GRASS_COLOR = 0x11783F;
+
     public static void setupBlocksClient() {
         setupRenderLayers();
         setupBlockColors();
     }
 
     private static void setupRenderLayers() {
+        // With a renderer the model picks a blend mode per quad and renders in the solid pass, the render layer only
+        // applies without one
         BlockRenderLayerMap.INSTANCE.putBlocks(
             RenderLayer.getCutoutMipped(),
             NdBlocks.MURKY_GRASS_BLOCK
         );
+        SolidOverlayBakedModel.register(
+            MURKY_GRASS_COLOR,
+            NdBlocks.MURKY_GRASS_BLOCK
+        );
     }
 
     private static void setupBlockColors() {
         ColorProviderRegistry.BLOCK.register(
-            // TODO Biome colors coming later
-            (state, world, pos, index) -> 0x11783F,
+            (state, world, pos, index) -> MURKY_GRASS_COLOR,
             NdBlocks.MURKY_GRASS_BLOCK
         );
 
         ColorProviderRegistry.ITEM.register(
-            (item, index) -> 0x11783F,
+            (item, index) -> MURKY_GRASS_COLOR,
             NdBlocks.MURKY_GRASS_BLOCK
         );
     }
@@ -0,0 +1,260 @@
+package net.shadew.ndebris.client.debug;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Material;
+import net.minecraft.block.MaterialColor;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.options.KeyBinding;
+import net.minecraft.client.render.block.BlockModels;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.texture.SpriteAtlasTexture;
+import net.minecraft.client.util.InputUtil;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemGroup;
+import net.minecraft.item.ItemStack;
+import net.minecraft.sound.BlockSoundGroup;
+import net.minecraft.state.property.Property;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.World;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lwjgl.glfw.GLFW;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import net.shadew.ndebris.core.blocks.BlockFamilies;
+
+/**
+ * Reports an estimate of the client heap used by Nature's Debris: block states, static voxel shapes of our block
+ * classes, baked block models and their sprites per block family, and items. The key is unbound by default. Shared
+ * objects are attributed to whatever reaches them first, in the order above, so the sections don't overlap.
+ */
+public final class HeapAudit {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String FILE_NAME = "ndebris-heap-audit.txt";
+
+    private final Set<Sprite> sprites = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ObjectSizeWalker walker = new ObjectSizeWalker(this::isBoundary);
+    private final List<String> lines = new ArrayList<>();
+
+    private HeapAudit() {
+    }
+
+    public static void register() {
+        KeyBinding key = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+            "key.ndebris.heap_audit",
+            InputUtil.Type.KEYSYM,
+            GLFW.GLFW_KEY_UNKNOWN,
+            "key.categories.ndebris"
+        ));
+        ClientTickEvents.END_CLIENT_TICK.register(client -> {
+            while (key.wasPressed()) {
+                new HeapAudit().run(client);
+            }
+        });
+    }
+
+    private boolean isBoundary(Object obj) {
+        if (obj instanceof Sprite) {
+            sprites.add((Sprite) obj);
+            return true;
+        }
+        return obj instanceof Class
+                   || obj instanceof Enum
+                   || obj instanceof ClassLoader
+                   || obj instanceof Thread
+                   || obj instanceof Block
+                   || obj instanceof Item
+                   || obj instanceof ItemGroup
+                   || obj instanceof Fluid
+                   || obj instanceof FluidState
+                   || obj instanceof Property
+                   || obj instanceof Material
+                   || obj instanceof MaterialColor
+                   || obj instanceof BlockSoundGroup
+                   || obj instanceof Registry
+                   || obj instanceof SpriteAtlasTexture
+                   || obj instanceof World
+                   || obj instanceof MinecraftClient;
+    }
+
+    private void run(MinecraftClient client) {
+        List<Block> blocks = new ArrayList<>();
+        for (Identifier id : Registry.BLOCK.getIds()) {
+            if (id.getNamespace().equals("ndebris")) {
+                blocks.add(Registry.BLOCK.get(id));
+            }
+        }
+
+        long shapes = auditShapes(blocks);
+        long states = auditStates(blocks);
+        long[] models = auditModels(client.getBakedModelManager().getBlockModels(), blocks);
+        long items = auditItems();
+
+        Path file = client.runDirectory.toPath().resolve(FILE_NAME);
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        } catch (IOException exc) {
+            LOGGER.error("Failed to write heap audit", exc);
+        }
+
+        String summary = String.format(
+            "Nature's Debris heap audit: states %s, shapes %s, models %s, sprites %s, items %s; see %s",
+            kib(states), kib(shapes), kib(models[0]), kib(models[1]), kib(items), FILE_NAME
+        );
+        LOGGER.info(summary);
+        if (client.player != null) {
+            client.player.sendMessage(new LiteralText(summary), false);
+        }
+    }
+
+    private long auditShapes(List<Block> blocks) {
+        Map<String, Long> fields = new TreeMap<>();
+        Set<Class<?>> classes = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Block block : blocks) {
+            for (Class<?> cls = block.getClass(); cls != Block.class && classes.add(cls); cls = cls.getSuperclass()) {
+                if (!cls.getName().startsWith("net.shadew.ndebris")) {
+                    continue;
+                }
+                for (Field field : cls.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) && isShapeType(field.getType())) {
+                        try {
+                            field.setAccessible(true);
+                            long size = walker.walk(field.get(null));
+                            if (size > 0) {
+                                fields.put(cls.getSimpleName() + "." + field.getName(), size);
+                            }
+                        } catch (IllegalAccessException | RuntimeException exc) {
+                            LOGGER.debug("Can't read {}.{}", cls.getName(), field.getName(), exc);
+                        }
+                    }
+                }
+            }
+        }
+
+        lines.add("== Static voxel shapes ==");
+        return section(fields);
+    }
+
+    private static boolean isShapeType(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return VoxelShape.class.isAssignableFrom(type);
+    }
+
+    private long auditStates(List<Block> blocks) {
+        Map<String, Long> perBlock = new LinkedHashMap<>();
+        long total = 0;
+        int count = 0;
+        for (Block block : blocks) {
+            long size = 0;
+            List<BlockState> states = block.getStateManager().getStates();
+            for (BlockState state : states) {
+                size += walker.walk(state);
+            }
+            perBlock.put(Registry.BLOCK.getId(block).getPath() + " (" + states.size() + " states)", size);
+            count += states.size();
+            total += size;
+        }
+
+        lines.add("");
+        lines.add("== Block states: " + count + " states in " + blocks.size() + " blocks ==");
+        section(perBlock);
+        return total;
+    }
+
+    private long[] auditModels(BlockModels models, List<Block> blocks) {
+        Map<String, Long> modelSizes = new TreeMap<>();
+        Map<String, Long> spriteSizes = new TreeMap<>();
+        Set<Sprite> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Block block : blocks) {
+            String family = BlockFamilies.of(Registry.BLOCK.getId(block));
+            sprites.clear();
+
+            long size = 0;
+            for (BlockState state : block.getStateManager().getStates()) {
+                size += walker.walk(models.getModel(state));
+            }
+            modelSizes.merge(family, size, Long::sum);
+
+            long texels = 0;
+            for (Sprite sprite : sprites) {
+                if (counted.add(sprite)) {
+                    // Four bytes per texel, and a third more for mipmaps. These live in native memory and on the GPU
+                    texels += sprite.getWidth() * sprite.getHeight() * 4L * 4 / 3;
+                }
+            }
+            spriteSizes.merge(family, texels, Long::sum);
+        }
+
+        lines.add("");
+        lines.add("== Baked block models per family ==");
+        long modelTotal = section(modelSizes);
+        lines.add("");
+        lines.add("== Sprites per family (" + counted.size() + " sprites, native) ==");
+        long spriteTotal = section(spriteSizes);
+        return new long[] {modelTotal, spriteTotal};
+    }
+
+    private long auditItems() {
+        long items = 0;
+        long stacks = 0;
+        int count = 0;
+        for (Identifier id : Registry.ITEM.getIds()) {
+            if (id.getNamespace().equals("ndebris")) {
+                Item item = Registry.ITEM.get(id);
+                items += walker.walk(item);
+                stacks += walker.walk(new ItemStack(item));
+                count++;
+            }
+        }
+
+        lines.add("");
+        lines.add("== Items ==");
+        lines.add(count + " items: " + kib(items) + ", one stack of each: " + kib(stacks));
+        return items;
+    }
+
+    private long section(Map<String, Long> sizes) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(sizes.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        long total = 0;
+        for (Map.Entry<String, Long> entry : entries) {
+            lines.add(String.format("%10s  %s", kib(entry.getValue()), entry.getKey()));
+            total += entry.getValue();
+        }
+        lines.add(String.format("%10s  total", kib(total)));
+        return total;
+    }
+
+    private static String kib(long bytes) {
+        return String.format("%.1f KiB", bytes / 1024.0);
+    }
+}
@@ -0,0 +1,141 @@
+package net.shadew.ndebris.client.debug;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Estimates the retained size of object graphs by walking their fields reflectively. Sizes assume a 64-bit JVM with
+ * compressed references: 12 byte object headers, 16 byte array headers, 4 byte references and 8 byte alignment, which
+ * is close enough to compare parts of the mod. Objects are only counted the first time they are reached, so walking
+ * several roots with one walker attributes shared objects to the root that reached them first. Objects matching the
+ * boundary are not walked into, unless passed as root.
+ */
+public class ObjectSizeWalker {
+    private static final Map<Class<?>, Layout> LAYOUTS = new HashMap<>();
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Predicate<Object> boundary;
+
+    public ObjectSizeWalker(Predicate<Object> boundary) {
+        this.boundary = boundary;
+    }
+
+    /**
+     * Returns the size in bytes of all objects reachable from the given root that were not reached before.
+     */
+    public long walk(Object root) {
+        if (root == null || !visited.add(root)) {
+            return 0;
+        }
+
+        long size = 0;
+        Deque<Object> queue = new ArrayDeque<>();
+        queue.push(root);
+        while (!queue.isEmpty()) {
+            Object obj = queue.pop();
+            Class<?> type = obj.getClass();
+
+            if (type.isArray()) {
+                int length = Array.getLength(obj);
+                Class<?> component = type.getComponentType();
+                size += align(16 + (long) length * sizeOf(component));
+                if (!component.isPrimitive()) {
+                    for (Object element : (Object[]) obj) {
+                        enqueue(queue, element);
+                    }
+                }
+                continue;
+            }
+
+            Layout layout = layout(type);
+            size += layout.size;
+            for (Field field : layout.references) {
+                try {
+                    enqueue(queue, field.get(obj));
+                } catch (IllegalAccessException exc) {
+                    // Unreadable fields are counted in the shallow size only
+                }
+            }
+        }
+        return size;
+    }
+
+    private void enqueue(Deque<Object> queue, Object obj) {
+        if (obj != null && !boundary.test(obj) && visited.add(obj)) {
+            queue.push(obj);
+        }
+    }
+
+    private static synchronized Layout layout(Class<?> type) {
+        Layout layout = LAYOUTS.get(type);
+        if (layout != null) {
+            return layout;
+        }
+
+        long size = 12;
+        List<Field> references = new ArrayList<>();
+        for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+            for (Field field : cls.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                size += sizeOf(field.getType());
+                if (!field.getType().isPrimitive() && makeAccessible(field)) {
+                    references.add(field);
+                }
+            }
+        }
+
+        layout = new Layout(align(size), references.toArray(new Field[0]));
+        LAYOUTS.put(type, layout);
+        return layout;
+    }
+
+    private static boolean makeAccessible(Field field) {
+        try {
+            field.setAccessible(true);
+            return true;
+        } catch (RuntimeException exc) {
+            // Fields of JDK internals can't be accessed on newer runtimes when modules are not opened
+            return false;
+        }
+    }
+
+    private static long sizeOf(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        } else if (type == int.class || type == float.class) {
+            return 4;
+        } else if (type == short.class || type == char.class) {
+            return 2;
+        } else if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        return 4;
+    }
+
+    private static long align(long size) {
+        return size + 7 & ~7L;
+    }
+
+    private static class Layout {
+        final long size;
+        final Field[] references;
+
+        Layout(long size, Field[] references) {
+            this.size = size;
+            this.references = references;
+        }
+    }
+}
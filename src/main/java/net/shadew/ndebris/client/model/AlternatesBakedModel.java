@@ -0,0 +1,117 @@
+package net.shadew.ndebris.client.model;
+
+import net.fabricmc.fabric.api.renderer.v1.Renderer;
+import net.fabricmc.fabric.api.renderer.v1.RendererAccess;
+import net.fabricmc.fabric.api.renderer.v1.material.RenderMaterial;
+import net.fabricmc.fabric.api.renderer.v1.mesh.QuadEmitter;
+import net.fabricmc.fabric.api.renderer.v1.model.ForwardingBakedModel;
+import net.fabricmc.fabric.api.renderer.v1.render.RenderContext;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.BakedQuad;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.BlockRenderView;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * A baked model that swaps the sprites of each face for one of its weighted alternates, chosen by a hash of the block
+ * position and the face. The geometry is baked once; only UVs are remapped when emitting. Without a renderer, or when
+ * rendered as item, the model renders as its first alternate.
+ */
+public class AlternatesBakedModel extends ForwardingBakedModel {
+    private static final Direction[] CULL_FACES = {
+        Direction.DOWN, Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST, null
+    };
+
+    private final Remap[] remaps;
+    private final int totalWeight;
+    private final RenderMaterial[] materials;
+
+    public AlternatesBakedModel(BakedModel model, Remap[] remaps) {
+        this.wrapped = model;
+        this.remaps = remaps;
+        this.totalWeight = totalWeight(remaps);
+
+        Renderer renderer = RendererAccess.INSTANCE.getRenderer();
+        boolean ao = model.useAmbientOcclusion();
+        this.materials = renderer == null ? null : new RenderMaterial[] {
+            renderer.materialFinder().disableAo(0, !ao).find(),
+            renderer.materialFinder().disableAo(0, !ao).disableDiffuse(0, true).find()
+        };
+    }
+
+    @Override
+    public boolean isVanillaAdapter() {
+        return materials == null;
+    }
+
+    @Override
+    public void emitBlockQuads(BlockRenderView world, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context) {
+        QuadEmitter emitter = context.getEmitter();
+        long posHash = MathHelper.hashCode(pos);
+
+        for (Direction cullFace : CULL_FACES) {
+            List<BakedQuad> quads = wrapped.getQuads(state, cullFace, randomSupplier.get());
+            for (BakedQuad quad : quads) {
+                emitter.fromVanilla(quad, materials[quad.hasShade() ? 0 : 1], cullFace);
+
+                Map<Sprite, Sprite> sprites = pick(remaps, totalWeight, posHash, quad.getFace());
+                Sprite from = quad.getSprite();
+                Sprite to = sprites.get(from);
+                if (to != null) {
+                    for (int v = 0; v < 4; v++) {
+                        float u = (emitter.spriteU(v, 0) - from.getMinU()) / (from.getMaxU() - from.getMinU());
+                        float w = (emitter.spriteV(v, 0) - from.getMinV()) / (from.getMaxV() - from.getMinV());
+                        emitter.sprite(
+                            v, 0,
+                            to.getMinU() + u * (to.getMaxU() - to.getMinU()),
+                            to.getMinV() + w * (to.getMaxV() - to.getMinV())
+                        );
+                    }
+                }
+                emitter.emit();
+            }
+        }
+    }
+
+    static int totalWeight(Remap[] remaps) {
+        int total = 0;
+        for (Remap remap : remaps) {
+            total += remap.weight;
+        }
+        return total;
+    }
+
+    static Map<Sprite, Sprite> pick(Remap[] remaps, int totalWeight, long posHash, Direction face) {
+        long hash = posHash * 31 + face.ordinal();
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+
+        int roll = (int) Math.floorMod(hash, (long) totalWeight);
+        for (Remap remap : remaps) {
+            roll -= remap.weight;
+            if (roll < 0) {
+                return remap.sprites;
+            }
+        }
+        return remaps[0].sprites;
+    }
+
+    public static class Remap {
+        final int weight;
+        final Map<Sprite, Sprite> sprites;
+
+        public Remap(int weight, Map<Sprite, Sprite> sprites) {
+            this.weight = weight;
+            this.sprites = sprites;
+        }
+    }
+}
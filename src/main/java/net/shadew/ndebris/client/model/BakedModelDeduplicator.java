@@ -0,0 +1,214 @@
+package net.shadew.ndebris.client.model;
+
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.BakedQuad;
+import net.minecraft.client.render.model.BasicBakedModel;
+import net.minecraft.client.render.model.json.ModelTransformation;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Direction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Shares baked quad lists, and whole baked models, between baked models of Nature's Debris. Rotated variants of
+ * symmetric models, and models that only differ in name, bake to identical quads and are otherwise kept in memory once
+ * for every variant. Each face of a model is replaced by the first identical quad list seen, and the model is rebuilt
+ * from the shared lists. A model whose lists and properties all match an earlier model is replaced by that model. One
+ * deduplicator is used per model load.
+ */
+public class BakedModelDeduplicator {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final Direction[] CULL_FACES = {
+        Direction.DOWN, Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST, null
+    };
+    private static final ModelTransformation.Mode[] MODES = ModelTransformation.Mode.values();
+
+    // Approximation of a baked quad: the object itself, its vertex data array and 32 ints of vertex data
+    private static final int QUAD_BYTES = 24 + 16 + 32 * 4;
+
+    private final Map<QuadsKey, List<BakedQuad>> lists = new HashMap<>();
+    private final Map<ModelKey, BakedModel> models = new HashMap<>();
+    private final Random random = new Random();
+    private int total;
+    private int shared;
+    private int sharedLists;
+    private int sharedQuads;
+
+    /**
+     * Returns the shared instance of a freshly baked model. Called once for each model the loader bakes, before it goes
+     * into the bake cache.
+     */
+    @SuppressWarnings("unchecked")
+    public BakedModel deduplicate(Identifier id, BakedModel model) {
+        if (!id.getNamespace().equals("ndebris") || !(model instanceof BasicBakedModel)) {
+            return model;
+        }
+
+        total++;
+        List<BakedQuad>[] quads = new List[CULL_FACES.length];
+        boolean changed = false;
+        for (int i = 0; i < CULL_FACES.length; i++) {
+            List<BakedQuad> list = model.getQuads(null, CULL_FACES[i], random);
+            List<BakedQuad> canonical = list.isEmpty() ? list : lists.computeIfAbsent(new QuadsKey(list), k -> k.quads);
+            if (canonical != list) {
+                changed = true;
+                sharedLists++;
+                sharedQuads += list.size();
+            }
+            quads[i] = canonical;
+        }
+
+        ModelKey key = new ModelKey(model, quads);
+        BakedModel canonical = models.get(key);
+        if (canonical != null) {
+            shared++;
+            return canonical;
+        }
+
+        if (changed) {
+            model = rebuild(model, quads);
+            key = new ModelKey(model, quads);
+        }
+        models.put(key, model);
+        return model;
+    }
+
+    public void report() {
+        if (total > 0) {
+            LOGGER.info(
+                "Deduplicated {} of {} baked models and {} quad lists, sharing {} quads (~{} KiB)",
+                shared, total, sharedLists, sharedQuads, sharedQuads * QUAD_BYTES / 1024
+            );
+        }
+        lists.clear();
+        models.clear();
+    }
+
+    private static BakedModel rebuild(BakedModel model, List<BakedQuad>[] quads) {
+        Map<Direction, List<BakedQuad>> faceQuads = new EnumMap<>(Direction.class);
+        for (int i = 0; i < 6; i++) {
+            faceQuads.put(CULL_FACES[i], quads[i]);
+        }
+        return new BasicBakedModel(
+            quads[6], faceQuads,
+            model.useAmbientOcclusion(), model.isSideLit(), model.hasDepth(),
+            model.getSprite(), model.getTransformation(), model.getOverrides()
+        );
+    }
+
+    private static final class QuadsKey {
+        private final List<BakedQuad> quads;
+        private final int hash;
+
+        QuadsKey(List<BakedQuad> quads) {
+            this.quads = quads;
+
+            int hash = quads.size();
+            for (BakedQuad quad : quads) {
+                hash = hash * 31 + Arrays.hashCode(quad.getVertexData());
+                hash = hash * 31 + System.identityHashCode(quad.getSprite());
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj || obj instanceof QuadsKey && hash == ((QuadsKey) obj).hash && sameQuads(quads, ((QuadsKey) obj).quads);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // Quad lists are canonical by the time models are compared, so they are compared by identity
+    private static final class ModelKey {
+        private final BakedModel model;
+        private final List<BakedQuad>[] quads;
+        private final int hash;
+
+        ModelKey(BakedModel model, List<BakedQuad>[] quads) {
+            this.model = model;
+            this.quads = quads;
+
+            int hash = System.identityHashCode(model.getSprite());
+            for (List<BakedQuad> list : quads) {
+                hash = hash * 31 + (list.isEmpty() ? 0 : System.identityHashCode(list));
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ModelKey)) {
+                return false;
+            }
+
+            ModelKey other = (ModelKey) obj;
+            if (hash != other.hash || !sameProperties(model, other.model)) {
+                return false;
+            }
+            for (int i = 0; i < quads.length; i++) {
+                if (quads[i] != other.quads[i] && !(quads[i].isEmpty() && other.quads[i].isEmpty())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static boolean sameProperties(BakedModel a, BakedModel b) {
+        if (a.useAmbientOcclusion() != b.useAmbientOcclusion()
+                || a.hasDepth() != b.hasDepth()
+                || a.isSideLit() != b.isSideLit()
+                || a.getSprite() != b.getSprite()
+                || a.getOverrides() != b.getOverrides()) {
+            return false;
+        }
+
+        ModelTransformation ta = a.getTransformation();
+        ModelTransformation tb = b.getTransformation();
+        if (ta != tb) {
+            for (ModelTransformation.Mode mode : MODES) {
+                if (!ta.getTransformation(mode).equals(tb.getTransformation(mode))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameQuads(List<BakedQuad> a, List<BakedQuad> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0, l = a.size(); i < l; i++) {
+            BakedQuad qa = a.get(i);
+            BakedQuad qb = b.get(i);
+            if (qa.getSprite() != qb.getSprite()
+                    || qa.getFace() != qb.getFace()
+                    || qa.getColorIndex() != qb.getColorIndex()
+                    || qa.hasShade() != qb.hasShade()
+                    || !Arrays.equals(qa.getVertexData(), qb.getVertexData())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,68 @@
+package net.shadew.ndebris.client.model;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.texture.SpriteAtlasTexture;
+import net.minecraft.client.util.SpriteIdentifier;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The weighted texture alternates of a model, as given by its {@code ndebris:alternates} array. The first entry is the
+ * model itself, every other entry maps sprites of the model to the sprites that replace them.
+ */
+public class ModelAlternates {
+    public static final String KEY = "ndebris:alternates";
+
+    private final int[] weights;
+    private final Map<Identifier, Identifier>[] textures;
+
+    private ModelAlternates(int[] weights, Map<Identifier, Identifier>[] textures) {
+        this.weights = weights;
+        this.textures = textures;
+    }
+
+    public void forEachSprite(Consumer<Identifier> consumer) {
+        for (Map<Identifier, Identifier> map : textures) {
+            map.values().forEach(consumer);
+        }
+    }
+
+    public AlternatesBakedModel.Remap[] bake(Function<SpriteIdentifier, Sprite> spriteGetter) {
+        AlternatesBakedModel.Remap[] remaps = new AlternatesBakedModel.Remap[weights.length];
+        for (int i = 0; i < weights.length; i++) {
+            Map<Sprite, Sprite> sprites = new IdentityHashMap<>();
+            textures[i].forEach((from, to) -> sprites.put(
+                spriteGetter.apply(new SpriteIdentifier(SpriteAtlasTexture.BLOCK_ATLAS_TEXTURE, from)),
+                spriteGetter.apply(new SpriteIdentifier(SpriteAtlasTexture.BLOCK_ATLAS_TEXTURE, to))
+            ));
+            remaps[i] = new AlternatesBakedModel.Remap(weights[i], sprites);
+        }
+        return remaps;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ModelAlternates parse(JsonArray json) {
+        int[] weights = new int[json.size()];
+        Map<Identifier, Identifier>[] textures = new Map[json.size()];
+        for (int i = 0; i < weights.length; i++) {
+            JsonObject alternate = JsonHelper.asObject(json.get(i), "alternate");
+            weights[i] = JsonHelper.getInt(alternate, "weight", 1);
+            textures[i] = new HashMap<>();
+            if (alternate.has("textures")) {
+                for (Map.Entry<String, JsonElement> entry : JsonHelper.getObject(alternate, "textures").entrySet()) {
+                    textures[i].put(new Identifier(entry.getKey()), new Identifier(entry.getValue().getAsString()));
+                }
+            }
+        }
+        return new ModelAlternates(weights, textures);
+    }
+}
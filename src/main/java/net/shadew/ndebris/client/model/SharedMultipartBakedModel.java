@@ -0,0 +1,133 @@
+package net.shadew.ndebris.client.model;
+
+import net.fabricmc.fabric.api.renderer.v1.model.FabricBakedModel;
+import net.fabricmc.fabric.api.renderer.v1.model.ForwardingBakedModel;
+import net.fabricmc.fabric.api.renderer.v1.render.RenderContext;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.BakedQuad;
+import net.minecraft.client.render.model.BasicBakedModel;
+import net.minecraft.client.render.model.MultipartBakedModel;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.BlockRenderView;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import net.shadew.ndebris.core.blocks.IndexedState;
+import net.shadew.ndebris.core.mixin.MultipartBakedModelAccessor;
+
+/**
+ * A multipart model that is shared by all states of a block and used from several chunk builder threads at once. Which
+ * parts apply to a state is worked out on first use and kept in an array indexed by state. The combined quads of each
+ * combination of parts are kept per face, and each face is combined when it is first asked for. Parts are emitted
+ * through the renderer API, so parts with texture alternates keep them.
+ */
+public class SharedMultipartBakedModel extends ForwardingBakedModel {
+    private final Predicate<BlockState>[] predicates;
+    private final BakedModel[] parts;
+    private final boolean fixedQuads;
+    private final Block block;
+    private final AtomicReferenceArray<BitSet> selections;
+    private final Map<BitSet, AtomicReferenceArray<List<BakedQuad>>> combinations = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public SharedMultipartBakedModel(MultipartBakedModel model, Block block) {
+        this.wrapped = model;
+        this.block = block;
+        this.selections = new AtomicReferenceArray<>(block.getStateManager().getStates().size());
+
+        List<Pair<Predicate<BlockState>, BakedModel>> components = ((MultipartBakedModelAccessor) model).getComponents();
+        this.predicates = new Predicate[components.size()];
+        this.parts = new BakedModel[components.size()];
+        boolean fixedQuads = true;
+        for (int i = 0; i < parts.length; i++) {
+            predicates[i] = components.get(i).getLeft();
+            parts[i] = components.get(i).getRight();
+            fixedQuads &= parts[i] instanceof BasicBakedModel || parts[i] instanceof AlternatesBakedModel;
+        }
+
+        // Simple parts return the same quads for any state and random, so the quads of a combination can be kept.
+        // Other parts, like weighted ones, are asked for their quads on every use, as vanilla does.
+        this.fixedQuads = fixedQuads;
+    }
+
+    @Override
+    public boolean isVanillaAdapter() {
+        return false;
+    }
+
+    @Override
+    public void emitBlockQuads(BlockRenderView world, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context) {
+        BitSet selection = select(state);
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            ((FabricBakedModel) parts[i]).emitBlockQuads(world, state, pos, randomSupplier, context);
+        }
+    }
+
+    @Override
+    public List<BakedQuad> getQuads(BlockState state, Direction face, Random random) {
+        if (state == null) {
+            return Collections.emptyList();
+        }
+
+        BitSet selection = select(state);
+        int index = face == null ? 6 : face.getId();
+        if (!fixedQuads) {
+            return combine(selection, state, face, random);
+        }
+
+        // Every selection comes from a state, so there are never more combinations than states
+        AtomicReferenceArray<List<BakedQuad>> faces = combinations.get(selection);
+        if (faces == null) {
+            faces = combinations.computeIfAbsent(selection, key -> new AtomicReferenceArray<>(7));
+        }
+        List<BakedQuad> quads = faces.get(index);
+        if (quads == null) {
+            quads = combine(selection, state, face, random);
+            if (!faces.compareAndSet(index, null, quads)) {
+                quads = faces.get(index);
+            }
+        }
+        return quads;
+    }
+
+    private BitSet select(BlockState state) {
+        // States of other blocks are not expected, but have no slot
+        int index = state.getBlock() == block ? IndexedState.indexOf(state) : -1;
+        BitSet selection = index >= 0 ? selections.get(index) : null;
+        if (selection == null) {
+            selection = new BitSet(parts.length);
+            for (int i = 0; i < parts.length; i++) {
+                if (predicates[i].test(state)) {
+                    selection.set(i);
+                }
+            }
+            if (index >= 0 && !selections.compareAndSet(index, null, selection)) {
+                selection = selections.get(index);
+            }
+        }
+        return selection;
+    }
+
+    private List<BakedQuad> combine(BitSet selection, BlockState state, Direction face, Random random) {
+        List<BakedQuad> quads = new ArrayList<>();
+        long seed = random.nextLong();
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            random.setSeed(seed);
+            quads.addAll(parts[i].getQuads(state, face, random));
+        }
+        return quads;
+    }
+}
@@ -0,0 +1,219 @@
+package net.shadew.ndebris.client.model;
+
+import com.google.common.collect.Sets;
+import net.fabricmc.fabric.api.renderer.v1.Renderer;
+import net.fabricmc.fabric.api.renderer.v1.RendererAccess;
+import net.fabricmc.fabric.api.renderer.v1.material.BlendMode;
+import net.fabricmc.fabric.api.renderer.v1.material.RenderMaterial;
+import net.fabricmc.fabric.api.renderer.v1.mesh.QuadEmitter;
+import net.fabricmc.fabric.api.renderer.v1.model.ForwardingBakedModel;
+import net.fabricmc.fabric.api.renderer.v1.render.RenderContext;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.BakedQuad;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.util.ModelIdentifier;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.BlockRenderView;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import net.shadew.ndebris.core.mixin.SpriteAccessor;
+
+/**
+ * Renders a block with a tinted side overlay, like a grass block, in the solid pass. Overlay faces are marked with tint
+ * index {@value #OVERLAY_TINT}. When the model is baked, the overlay is composited with the block's tint color into the
+ * sprite of the side face it lies on, and the overlay quad is left out. The side sprite changes for everything that
+ * uses it, so the block and item models are both wrapped and both leave the overlay out. Overlays that can't be
+ * composited, because they don't line up with a side face or are animated, are emitted with the cutout mipped blend
+ * mode. Everything else is solid. Without a renderer the block renders in the cutout mipped layer it is registered in.
+ */
+public class SolidOverlayBakedModel extends ForwardingBakedModel {
+    public static final int OVERLAY_TINT = 1;
+
+    private static final Map<Block, Integer> TINTS = new IdentityHashMap<>();
+    private static final Direction[] CULL_FACES = {
+        Direction.DOWN, Direction.UP, Direction.NORTH, Direction.SOUTH, Direction.WEST, Direction.EAST, null
+    };
+
+    // Side sprites that were composited, with the overlay they were composited with. Sprites are replaced on every
+    // resource reload, so these are only held weakly.
+    private static final Map<Sprite, Sprite> COMPOSITED = new WeakHashMap<>();
+
+    private final RenderMaterial[] materials;
+    private final Set<BakedQuad> composited = Sets.newIdentityHashSet();
+
+    public SolidOverlayBakedModel(BakedModel model, Renderer renderer, int tint) {
+        this.wrapped = model;
+
+        boolean ao = model.useAmbientOcclusion();
+        this.materials = new RenderMaterial[] {
+            renderer.materialFinder().blendMode(0, BlendMode.SOLID).disableAo(0, !ao).find(),
+            renderer.materialFinder().blendMode(0, BlendMode.SOLID).disableAo(0, !ao).disableDiffuse(0, true).find(),
+            renderer.materialFinder().blendMode(0, BlendMode.CUTOUT_MIPPED).disableAo(0, !ao).find(),
+            renderer.materialFinder().blendMode(0, BlendMode.CUTOUT_MIPPED).disableAo(0, !ao).disableDiffuse(0, true).find()
+        };
+
+        Random random = new Random();
+        for (Direction cullFace : CULL_FACES) {
+            List<BakedQuad> quads = model.getQuads(null, cullFace, random);
+            for (BakedQuad overlay : quads) {
+                if (overlay.getColorIndex() != OVERLAY_TINT) {
+                    continue;
+                }
+                for (BakedQuad side : quads) {
+                    if (side.getColorIndex() == OVERLAY_TINT || side.getFace() != overlay.getFace() || !sameUvs(side, overlay)) {
+                        continue;
+                    }
+                    if (composite(side.getSprite(), overlay.getSprite(), tint)) {
+                        composited.add(overlay);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    public static void register(int tint, Block... blocks) {
+        for (Block block : blocks) {
+            TINTS.put(block, tint);
+        }
+    }
+
+    /**
+     * Wraps the block state or item model with the given identifier when its block is registered. Called for every
+     * model baked by the model loader, on the render thread.
+     */
+    public static BakedModel wrap(Identifier id, BakedModel model) {
+        if (!(id instanceof ModelIdentifier)) {
+            return model;
+        }
+
+        Integer tint = TINTS.get(Registry.BLOCK.get(new Identifier(id.getNamespace(), id.getPath())));
+        Renderer renderer = RendererAccess.INSTANCE.getRenderer();
+        if (tint == null || renderer == null) {
+            return model;
+        }
+        return new SolidOverlayBakedModel(model, renderer, tint);
+    }
+
+    @Override
+    public boolean isVanillaAdapter() {
+        return false;
+    }
+
+    @Override
+    public void emitBlockQuads(BlockRenderView world, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context) {
+        emitQuads(state, randomSupplier, context);
+    }
+
+    @Override
+    public void emitItemQuads(ItemStack stack, Supplier<Random> randomSupplier, RenderContext context) {
+        emitQuads(null, randomSupplier, context);
+    }
+
+    private void emitQuads(BlockState state, Supplier<Random> randomSupplier, RenderContext context) {
+        QuadEmitter emitter = context.getEmitter();
+
+        for (Direction cullFace : CULL_FACES) {
+            List<BakedQuad> quads = wrapped.getQuads(state, cullFace, randomSupplier.get());
+            for (BakedQuad quad : quads) {
+                if (composited.contains(quad)) {
+                    continue;
+                }
+
+                int overlay = quad.getColorIndex() == OVERLAY_TINT ? 2 : 0;
+                emitter.fromVanilla(quad, materials[overlay | (quad.hasShade() ? 0 : 1)], cullFace);
+                emitter.emit();
+            }
+        }
+    }
+
+    private static boolean sameUvs(BakedQuad a, BakedQuad b) {
+        int[] va = a.getVertexData();
+        int[] vb = b.getVertexData();
+        int stride = va.length / 4;
+        for (int v = 0; v < 4; v++) {
+            int i = v * stride + 4;
+            if (Math.abs(relativeU(a.getSprite(), va[i]) - relativeU(b.getSprite(), vb[i])) > 1e-4f
+                    || Math.abs(relativeV(a.getSprite(), va[i + 1]) - relativeV(b.getSprite(), vb[i + 1])) > 1e-4f) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static float relativeU(Sprite sprite, int u) {
+        return (Float.intBitsToFloat(u) - sprite.getMinU()) / (sprite.getMaxU() - sprite.getMinU());
+    }
+
+    private static float relativeV(Sprite sprite, int v) {
+        return (Float.intBitsToFloat(v) - sprite.getMinV()) / (sprite.getMaxV() - sprite.getMinV());
+    }
+
+    /**
+     * Blends the overlay, multiplied by the tint, over the side sprite in every mipmap level and uploads the result into
+     * the side's atlas. Returns false when the sprites are animated or differ in size, in which case the side is left
+     * alone.
+     */
+    private static boolean composite(Sprite side, Sprite overlay, int tint) {
+        Sprite done = COMPOSITED.get(side);
+        if (done != null) {
+            return done == overlay;
+        }
+
+        NativeImage[] sideImages = ((SpriteAccessor) side).getImages();
+        NativeImage[] overlayImages = ((SpriteAccessor) overlay).getImages();
+        if (side.getWidth() != overlay.getWidth() || side.getHeight() != overlay.getHeight()
+                || sideImages.length != overlayImages.length
+                || sideImages[0].getWidth() != side.getWidth() || sideImages[0].getHeight() != side.getHeight()
+                || overlayImages[0].getWidth() != overlay.getWidth() || overlayImages[0].getHeight() != overlay.getHeight()) {
+            return false;
+        }
+
+        // Images are in ABGR order, the tint is in RGB order
+        int tr = tint >>> 16 & 255;
+        int tg = tint >>> 8 & 255;
+        int tb = tint & 255;
+        for (int level = 0; level < sideImages.length; level++) {
+            NativeImage to = sideImages[level];
+            NativeImage from = overlayImages[level];
+            for (int y = 0, h = to.getHeight(); y < h; y++) {
+                for (int x = 0, w = to.getWidth(); x < w; x++) {
+                    int o = from.getPixelColor(x, y);
+                    int a = o >>> 24;
+                    if (a == 0) {
+                        continue;
+                    }
+                    int s = to.getPixelColor(x, y);
+                    int r = blend(s & 255, (o & 255) * tr / 255, a);
+                    int g = blend(s >>> 8 & 255, (o >>> 8 & 255) * tg / 255, a);
+                    int b = blend(s >>> 16 & 255, (o >>> 16 & 255) * tb / 255, a);
+                    to.setPixelColor(x, y, s & 0xFF000000 | b << 16 | g << 8 | r);
+                }
+            }
+        }
+        // Models are baked after the atlases are uploaded, with whatever texture was bound last
+        side.getAtlas().bindTexture();
+        side.upload();
+
+        COMPOSITED.put(side, overlay);
+        return true;
+    }
+
+    private static int blend(int under, int over, int alpha) {
+        return (over * alpha + under * (255 - alpha)) / 255;
+    }
+}
@@ -0,0 +1,366 @@
+package net.shadew.ndebris.client.model;
+
+import net.fabricmc.fabric.api.renderer.v1.Renderer;
+import net.fabricmc.fabric.api.renderer.v1.material.RenderMaterial;
+import net.fabricmc.fabric.api.renderer.v1.mesh.Mesh;
+import net.fabricmc.fabric.api.renderer.v1.mesh.MeshBuilder;
+import net.fabricmc.fabric.api.renderer.v1.mesh.MutableQuadView;
+import net.fabricmc.fabric.api.renderer.v1.mesh.QuadEmitter;
+import net.fabricmc.fabric.api.renderer.v1.model.FabricBakedModel;
+import net.fabricmc.fabric.api.renderer.v1.render.RenderContext;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.enums.BlockHalf;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.BakedQuad;
+import net.minecraft.client.render.model.json.ModelOverrideList;
+import net.minecraft.client.render.model.json.ModelTransformation;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.function.BooleanBiFunction;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.util.shape.VoxelShapes;
+import net.minecraft.world.BlockRenderView;
+import net.minecraft.world.BlockView;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import net.shadew.ndebris.common.block.StepBlock;
+
+/**
+ * Renders a step block from the corner bitmask of its state. Each filled quarter of the step's half is a box of 8x8x8
+ * pixels, faces between two filled quarters are left out and coplanar faces of neighbouring quarters are merged. UVs are
+ * locked to the block position, like the rotated step models with {@code uvlock}. Only renders as block, the item keeps
+ * its regular model.
+ * <p>
+ * The renderer culls a face on the block boundary only when the neighbour covers all of it. Where a neighbour covers
+ * some of the quarters of such a face, like another step or a stair does, the covered quarters are left out as well.
+ * Which quarters a neighbour state covers is kept per direction, unless the neighbour's shape depends on where it is.
+ */
+public class StepBakedModel implements BakedModel, FabricBakedModel {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // The quarters of each half with a face on the block boundary, per direction
+    private static final int[][] BOUNDARY_QUARTERS = {
+        {15, 0, 3, 12, 5, 10},
+        {0, 15, 3, 12, 5, 10}
+    };
+
+    // The face of each quarter of each half, per direction, as the culling face of a block
+    private static final VoxelShape[][][] QUARTER_FACES = new VoxelShape[2][4][6];
+
+    // The quarter faces each neighbour state covers, per direction of the neighbour, as bit 4 * half + quarter. Block
+    // shapes don't change on resource reloads, so these are kept for good, up to a bound.
+    private static final int MAX_CACHED_NEIGHBORS = 4096;
+    @SuppressWarnings("unchecked")
+    private static final Map<BlockState, Byte>[] COVERING = new Map[6];
+
+    private static final ThreadLocal<BlockPos.Mutable> NEIGHBOR_POS = ThreadLocal.withInitial(BlockPos.Mutable::new);
+
+    static {
+        for (int i = 0; i < 6; i++) {
+            COVERING[i] = new ConcurrentHashMap<>();
+        }
+
+        for (int h = 0; h < 2; h++) {
+            for (int i = 0; i < 4; i++) {
+                int x = (i & 1) * 8;
+                int z = (i >>> 1) * 8;
+                VoxelShape quarter = Block.createCuboidShape(x, h * 8, z, x + 8, h * 8 + 8, z + 8);
+                for (Direction dir : DIRECTIONS) {
+                    QUARTER_FACES[h][i][dir.getId()] = VoxelShapes.extrudeFace(quarter, dir);
+                }
+            }
+        }
+    }
+
+    private final Sprite side;
+    private final Sprite top;
+    private final Sprite bottom;
+    private final Sprite particle;
+    private final boolean ao;
+    private final RenderMaterial material;
+    private final AlternatesBakedModel.Remap[] remaps;
+    private final int totalWeight;
+    private final Mesh[] meshes;
+
+    public StepBakedModel(Renderer renderer, Sprite side, Sprite top, Sprite bottom, Sprite particle, boolean ao, AlternatesBakedModel.Remap[] remaps) {
+        this.side = side;
+        this.top = top;
+        this.bottom = bottom;
+        this.particle = particle;
+        this.ao = ao;
+        this.material = renderer.materialFinder().disableAo(0, !ao).find();
+        this.remaps = remaps;
+        this.totalWeight = remaps == null ? 0 : AlternatesBakedModel.totalWeight(remaps);
+
+        // Without alternates the quads of a state never change, so they are all emitted up front
+        if (remaps == null) {
+            meshes = new Mesh[32];
+            for (int i = 0; i < 32; i++) {
+                MeshBuilder builder = renderer.meshBuilder();
+                emitStep(builder.getEmitter(), i >>> 4 != 0, i & 15, 0, 0);
+                meshes[i] = builder.build();
+            }
+        } else {
+            meshes = null;
+        }
+    }
+
+    @Override
+    public boolean isVanillaAdapter() {
+        return false;
+    }
+
+    @Override
+    public void emitBlockQuads(BlockRenderView world, BlockState state, BlockPos pos, Supplier<Random> randomSupplier, RenderContext context) {
+        boolean upper = state.get(StepBlock.HALF) == BlockHalf.TOP;
+        int mask = StepBlock.getCornerBitmask(state);
+        int covered = coveredQuarters(world, pos, upper, mask);
+        if (meshes != null && covered == 0) {
+            context.meshConsumer().accept(meshes[(upper ? 16 : 0) | mask]);
+        } else {
+            emitStep(context.getEmitter(), upper, mask, covered, MathHelper.hashCode(pos));
+        }
+    }
+
+    /**
+     * Returns which boundary faces of the filled quarters are covered by a neighbour, as bit {@code 4 * direction +
+     * quarter}. Faces that are covered as a whole are not included, as the renderer culls those already.
+     */
+    static int coveredQuarters(BlockView world, BlockPos pos, boolean upper, int mask) {
+        BlockPos.Mutable neighborPos = NEIGHBOR_POS.get();
+        int covered = 0;
+        for (Direction dir : DIRECTIONS) {
+            int faces = BOUNDARY_QUARTERS[upper ? 1 : 0][dir.getId()] & mask;
+            if (faces == 0) {
+                continue;
+            }
+
+            neighborPos.set(pos, dir);
+            BlockState neighbor = world.getBlockState(neighborPos);
+            if (!neighbor.isOpaque()) {
+                continue;
+            }
+            int coveredFaces = covering(neighbor, world, neighborPos, dir) >>> (upper ? 4 : 0) & faces;
+            if (coveredFaces != faces) {
+                covered |= coveredFaces << dir.getId() * 4;
+            }
+        }
+        return covered;
+    }
+
+    private static int covering(BlockState neighbor, BlockView world, BlockPos neighborPos, Direction dir) {
+        Map<BlockState, Byte> cache = COVERING[dir.getId()];
+        boolean cacheable = !neighbor.getBlock().hasDynamicBounds();
+        if (cacheable) {
+            Byte bits = cache.get(neighbor);
+            if (bits != null) {
+                return bits & 255;
+            }
+        }
+
+        int bits = 0;
+        VoxelShape face = neighbor.getCullingFace(world, neighborPos, dir.getOpposite());
+        if (!face.isEmpty()) {
+            for (int h = 0; h < 2; h++) {
+                for (int i = 0; i < 4; i++) {
+                    if (!VoxelShapes.matchesAnywhere(QUARTER_FACES[h][i][dir.getId()], face, BooleanBiFunction.ONLY_FIRST)) {
+                        bits |= 1 << h * 4 + i;
+                    }
+                }
+            }
+        }
+        if (cacheable && cache.size() < MAX_CACHED_NEIGHBORS) {
+            cache.put(neighbor, (byte) bits);
+        }
+        return bits;
+    }
+
+    private static int drawn(int mask, int covered, Direction face) {
+        return mask & ~(covered >>> face.getId() * 4);
+    }
+
+    @Override
+    public void emitItemQuads(ItemStack stack, Supplier<Random> randomSupplier, RenderContext context) {
+    }
+
+    private void emitStep(QuadEmitter emitter, boolean upper, int mask, int covered, long posHash) {
+        float minY = upper ? 0.5f : 0;
+        float maxY = minY + 0.5f;
+
+        emitHorizontal(emitter, Direction.UP, drawn(mask, covered, Direction.UP), 1 - maxY, posHash);
+        emitHorizontal(emitter, Direction.DOWN, drawn(mask, covered, Direction.DOWN), minY, posHash);
+
+        // Vertical faces: a quarter shows a side when the quarter next to it is empty or outside the block, and two
+        // quarters that show a side in the same plane share one quad
+        int west = drawn(mask, covered, Direction.WEST);
+        int east = drawn(mask, covered, Direction.EAST);
+        int north = drawn(mask, covered, Direction.NORTH);
+        int south = drawn(mask, covered, Direction.SOUTH);
+        for (int p = 0; p < 2; p++) {
+            emitSide(emitter, Direction.WEST, sideBits(mask, west, p, -1, 0), p * 0.5f, minY, maxY, posHash);
+            emitSide(emitter, Direction.EAST, sideBits(mask, east, p, 1, 0), p * 0.5f + 0.5f, minY, maxY, posHash);
+            emitSide(emitter, Direction.NORTH, sideBits(mask, north, p, 0, -1), p * 0.5f, minY, maxY, posHash);
+            emitSide(emitter, Direction.SOUTH, sideBits(mask, south, p, 0, 1), p * 0.5f + 0.5f, minY, maxY, posHash);
+        }
+    }
+
+    /**
+     * Emits the given quarters of a horizontal face: a full face as one quad, otherwise full rows first, then full
+     * columns, then the remaining quarters on their own.
+     */
+    private void emitHorizontal(QuadEmitter emitter, Direction face, int quarters, float depth, long posHash) {
+        if (quarters == 15) {
+            emitHorizontal(emitter, face, 0, 0, 1, 1, depth, posHash);
+            return;
+        }
+
+        int left = quarters;
+        for (int z = 0; z < 2; z++) {
+            int row = 3 << z * 2;
+            if ((left & row) == row) {
+                emitHorizontal(emitter, face, 0, z * 0.5f, 1, z * 0.5f + 0.5f, depth, posHash);
+                left &= ~row;
+            }
+        }
+        for (int x = 0; x < 2; x++) {
+            int column = 5 << x;
+            if ((left & column) == column) {
+                emitHorizontal(emitter, face, x * 0.5f, 0, x * 0.5f + 0.5f, 1, depth, posHash);
+                left &= ~column;
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            if ((left & 1 << i) != 0) {
+                float x = (i & 1) * 0.5f;
+                float z = (i >>> 1) * 0.5f;
+                emitHorizontal(emitter, face, x, z, x + 0.5f, z + 0.5f, depth, posHash);
+            }
+        }
+    }
+
+    /**
+     * Returns, for the two quarters in plane {@code p} along the given offset, which of them show a face in the offset
+     * direction: bit 0 for the quarter at the north or west, bit 1 for the quarter at the south or east. Only quarters
+     * in {@code drawn} show a face at all.
+     */
+    private static int sideBits(int mask, int drawn, int p, int dx, int dz) {
+        int bits = 0;
+        for (int q = 0; q < 2; q++) {
+            int x = dx != 0 ? p : q;
+            int z = dx != 0 ? q : p;
+            if (!filled(drawn, x, z)) {
+                continue;
+            }
+            int nx = x + dx;
+            int nz = z + dz;
+            if (nx < 0 || nx > 1 || nz < 0 || nz > 1 || !filled(mask, nx, nz)) {
+                bits |= 1 << q;
+            }
+        }
+        return bits;
+    }
+
+    private static boolean filled(int mask, int x, int z) {
+        return (mask & 1 << z * 2 + x) != 0;
+    }
+
+    private void emitHorizontal(QuadEmitter emitter, Direction face, float x0, float z0, float x1, float z1, float depth, long posHash) {
+        if (face == Direction.UP) {
+            emitter.square(face, x0, 1 - z1, x1, 1 - z0, depth);
+            emitQuad(emitter, face, top, posHash);
+        } else {
+            emitter.square(face, x0, z0, x1, z1, depth);
+            emitQuad(emitter, face, bottom, posHash);
+        }
+    }
+
+    private void emitSide(QuadEmitter emitter, Direction face, int bits, float plane, float minY, float maxY, long posHash) {
+        if (bits == 3) {
+            emitSide(emitter, face, 0, 1, plane, minY, maxY, posHash);
+        } else if (bits != 0) {
+            float from = bits == 1 ? 0 : 0.5f;
+            emitSide(emitter, face, from, from + 0.5f, plane, minY, maxY, posHash);
+        }
+    }
+
+    private void emitSide(QuadEmitter emitter, Direction face, float from, float to, float plane, float minY, float maxY, long posHash) {
+        switch (face) {
+            case WEST:
+                emitter.square(face, from, minY, to, maxY, plane);
+                break;
+            case EAST:
+                emitter.square(face, 1 - to, minY, 1 - from, maxY, 1 - plane);
+                break;
+            case NORTH:
+                emitter.square(face, 1 - to, minY, 1 - from, maxY, plane);
+                break;
+            case SOUTH:
+                emitter.square(face, from, minY, to, maxY, 1 - plane);
+                break;
+            default:
+                throw new IllegalArgumentException("Not a horizontal face: " + face);
+        }
+        emitQuad(emitter, face, side, posHash);
+    }
+
+    private void emitQuad(QuadEmitter emitter, Direction face, Sprite sprite, long posHash) {
+        if (remaps != null) {
+            Map<Sprite, Sprite> sprites = AlternatesBakedModel.pick(remaps, totalWeight, posHash, face);
+            sprite = sprites.getOrDefault(sprite, sprite);
+        }
+        emitter.spriteBake(0, sprite, MutableQuadView.BAKE_LOCK_UV);
+        emitter.spriteColor(0, -1, -1, -1, -1);
+        emitter.material(material);
+        emitter.emit();
+    }
+
+    @Override
+    public List<BakedQuad> getQuads(BlockState state, Direction face, Random random) {
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean useAmbientOcclusion() {
+        return ao;
+    }
+
+    @Override
+    public boolean hasDepth() {
+        return true;
+    }
+
+    @Override
+    public boolean isSideLit() {
+        return true;
+    }
+
+    @Override
+    public boolean isBuiltin() {
+        return false;
+    }
+
+    @Override
+    public Sprite getSprite() {
+        return particle;
+    }
+
+    @Override
+    public ModelTransformation getTransformation() {
+        return ModelTransformation.NONE;
+    }
+
+    @Override
+    public ModelOverrideList getOverrides() {
+        return ModelOverrideList.EMPTY;
+    }
+}
@@ -0,0 +1,123 @@
+package net.shadew.ndebris.client.model;
+
+import com.mojang.datafixers.util.Pair;
+import net.fabricmc.fabric.api.client.model.ModelLoadingRegistry;
+import net.fabricmc.fabric.api.client.model.ModelProviderContext;
+import net.fabricmc.fabric.api.client.model.ModelVariantProvider;
+import net.fabricmc.fabric.api.renderer.v1.Renderer;
+import net.fabricmc.fabric.api.renderer.v1.RendererAccess;
+import net.minecraft.block.Block;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.ModelBakeSettings;
+import net.minecraft.client.render.model.ModelLoader;
+import net.minecraft.client.render.model.UnbakedModel;
+import net.minecraft.client.render.model.json.JsonUnbakedModel;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.util.ModelIdentifier;
+import net.minecraft.client.util.SpriteIdentifier;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import net.shadew.ndebris.common.block.StepBlock;
+
+/**
+ * Replaces the block state models of step blocks with a {@link StepBakedModel}, which builds the geometry from the corner
+ * bitmask of the state. Textures are taken from the straight step model, {@code <namespace>:block/<step>}. When no
+ * renderer is present, or a resource pack provides its own block states for a step, the block states are loaded as
+ * usual.
+ */
+public class StepModelProvider implements ModelVariantProvider {
+    private final ResourceManager resources;
+    private final Map<Block, StepUnbakedModel> models = new HashMap<>();
+
+    public StepModelProvider(ResourceManager resources) {
+        this.resources = resources;
+    }
+
+    public static void register() {
+        ModelLoadingRegistry.INSTANCE.registerVariantProvider(StepModelProvider::new);
+    }
+
+    @Override
+    public UnbakedModel loadModelVariant(ModelIdentifier modelId, ModelProviderContext context) {
+        if (!modelId.getNamespace().equals("ndebris") || modelId.getVariant().equals("inventory")) {
+            return null;
+        }
+
+        Identifier blockId = new Identifier(modelId.getNamespace(), modelId.getPath());
+        Block block = Registry.BLOCK.get(blockId);
+        if (!(block instanceof StepBlock) || RendererAccess.INSTANCE.getRenderer() == null) {
+            return null;
+        }
+
+        StepUnbakedModel model = models.get(block);
+        if (model == null && !models.containsKey(block)) {
+            model = hasPackBlockStates(blockId) ? null : new StepUnbakedModel(new Identifier(blockId.getNamespace(), "block/" + blockId.getPath()));
+            models.put(block, model);
+        }
+        return model;
+    }
+
+    private boolean hasPackBlockStates(Identifier blockId) {
+        try {
+            return resources.getAllResources(new Identifier(blockId.getNamespace(), "blockstates/" + blockId.getPath() + ".json")).size() > 1;
+        } catch (IOException exc) {
+            return false;
+        }
+    }
+
+    private static class StepUnbakedModel implements UnbakedModel {
+        private final Identifier stepModel;
+        private BakedModel baked;
+
+        StepUnbakedModel(Identifier stepModel) {
+            this.stepModel = stepModel;
+        }
+
+        @Override
+        public Collection<Identifier> getModelDependencies() {
+            return Collections.singleton(stepModel);
+        }
+
+        @Override
+        public Collection<SpriteIdentifier> getTextureDependencies(Function<Identifier, UnbakedModel> unbakedModelGetter, Set<Pair<String, String>> unresolvedTextureReferences) {
+            return unbakedModelGetter.apply(stepModel).getTextureDependencies(unbakedModelGetter, unresolvedTextureReferences);
+        }
+
+        @Override
+        public BakedModel bake(ModelLoader loader, Function<SpriteIdentifier, Sprite> textureGetter, ModelBakeSettings rotationContainer, Identifier modelId) {
+            // All variants of a block share this instance and render the same model
+            if (baked != null) {
+                return baked;
+            }
+
+            UnbakedModel unbaked = loader.getOrLoadModel(stepModel);
+            if (!(unbaked instanceof JsonUnbakedModel)) {
+                return null;
+            }
+
+            JsonUnbakedModel model = (JsonUnbakedModel) unbaked;
+            ModelAlternates alternates = SynthesizedModelProvider.getServedAlternates(stepModel);
+            Renderer renderer = RendererAccess.INSTANCE.getRenderer();
+            baked = new StepBakedModel(
+                renderer,
+                textureGetter.apply(model.resolveSprite("side")),
+                textureGetter.apply(model.resolveSprite("top")),
+                textureGetter.apply(model.resolveSprite("bottom")),
+                textureGetter.apply(model.resolveSprite("particle")),
+                model.useAmbientOcclusion(),
+                alternates == null ? null : alternates.bake(textureGetter)
+            );
+            return baked;
+        }
+    }
+}
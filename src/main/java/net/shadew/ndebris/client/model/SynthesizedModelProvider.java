@@ -0,0 +1,83 @@
+package net.shadew.ndebris.client.model;
+
+import com.google.gson.JsonObject;
+import net.fabricmc.fabric.api.client.model.ModelLoadingRegistry;
+import net.fabricmc.fabric.api.client.model.ModelProviderContext;
+import net.fabricmc.fabric.api.client.model.ModelResourceProvider;
+import net.fabricmc.fabric.api.event.client.ClientSpriteRegistryCallback;
+import net.minecraft.client.render.model.UnbakedModel;
+import net.minecraft.client.render.model.json.JsonUnbakedModel;
+import net.minecraft.client.texture.SpriteAtlasTexture;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.util.Identifier;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.shadew.ndebris.core.mixin.JsonUnbakedModelAccessor;
+
+/**
+ * Serves the synthesized models. When a resource pack provides a model file of its own, that file is loaded instead,
+ * and texture alternates of the synthesized model are not applied to it. The synthesized models are built when a model
+ * load starts and released through {@link #finishLoad} once its models are baked.
+ */
+public class SynthesizedModelProvider implements ModelResourceProvider {
+    private static final Map<Identifier, ModelAlternates> SERVED_ALTERNATES = new ConcurrentHashMap<>();
+    private static volatile SynthesizedModels loading;
+
+    private final ResourceManager resources;
+    private final SynthesizedModels models;
+
+    public SynthesizedModelProvider(ResourceManager resources) {
+        this.resources = resources;
+        this.models = SynthesizedModels.build();
+        SERVED_ALTERNATES.clear();
+        loading = models;
+    }
+
+    public static void register() {
+        ModelLoadingRegistry.INSTANCE.registerResourceProvider(SynthesizedModelProvider::new);
+        ClientSpriteRegistryCallback.event(SpriteAtlasTexture.BLOCK_ATLAS_TEXTURE).register((atlas, registry) -> {
+            SynthesizedModels models = loading;
+            if (models != null) {
+                models.forEachAlternateSprite(registry::register);
+            }
+        });
+    }
+
+    /**
+     * Returns the texture alternates of the given model, if it was served by this provider in the model load in
+     * progress.
+     */
+    public static ModelAlternates getServedAlternates(Identifier id) {
+        return SERVED_ALTERNATES.get(id);
+    }
+
+    /**
+     * Releases the synthesized models once the model loader has baked everything.
+     */
+    public static void finishLoad() {
+        loading = null;
+        SERVED_ALTERNATES.clear();
+    }
+
+    @Override
+    public UnbakedModel loadModelResource(Identifier id, ModelProviderContext context) {
+        if (!id.getNamespace().equals("ndebris")) {
+            return null;
+        }
+
+        JsonObject json = models.get(id);
+        if (json == null || resources.containsResource(new Identifier(id.getNamespace(), "models/" + id.getPath() + ".json"))) {
+            return null;
+        }
+
+        JsonUnbakedModel model = JsonUnbakedModelAccessor.getGson().fromJson(json, JsonUnbakedModel.class);
+        model.id = id.toString();
+        ModelAlternates alternates = models.getAlternates(id);
+        if (alternates != null) {
+            SERVED_ALTERNATES.put(id, alternates);
+        }
+        return model;
+    }
+}
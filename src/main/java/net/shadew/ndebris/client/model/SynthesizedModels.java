@@ -0,0 +1,61 @@
+package net.shadew.ndebris.client.model;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import net.shadew.ndebris.data.models.BlockStateTable;
+import net.shadew.ndebris.data.models.ItemModelTable;
+
+/**
+ * The block and item models described by {@link BlockStateTable} and {@link ItemModelTable}, as model JSON by model
+ * identifier. These are no longer generated as files but built from the tables for each model load, and dropped when
+ * the load is done.
+ */
+public final class SynthesizedModels {
+    private final Map<Identifier, JsonObject> models = new HashMap<>();
+    private final Map<Identifier, ModelAlternates> alternates = new HashMap<>();
+
+    private SynthesizedModels() {
+    }
+
+    public static SynthesizedModels build() {
+        SynthesizedModels models = new SynthesizedModels();
+        BlockStateTable.registerBlockStates((block, stategen) -> stategen.getModels((name, gen) -> {
+            Identifier id = new Identifier(name);
+            models.put(id, gen.makeJson(id));
+        }));
+        ItemModelTable.registerItemModels((item, gen) -> {
+            Identifier id = Registry.ITEM.getId(item);
+            models.put(new Identifier(id.getNamespace(), "item/" + id.getPath()), gen.makeJson(id));
+        });
+        return models;
+    }
+
+    public JsonObject get(Identifier id) {
+        return models.get(id);
+    }
+
+    public ModelAlternates getAlternates(Identifier id) {
+        return alternates.get(id);
+    }
+
+    public void forEachAlternateSprite(Consumer<Identifier> consumer) {
+        for (ModelAlternates alts : alternates.values()) {
+            alts.forEachSprite(consumer);
+        }
+    }
+
+    private void put(Identifier id, JsonElement json) {
+        JsonObject obj = json.getAsJsonObject();
+        models.put(id, obj);
+        if (obj.has(ModelAlternates.KEY)) {
+            alternates.put(id, ModelAlternates.parse(obj.getAsJsonArray(ModelAlternates.KEY)));
+        }
+    }
+}
@@ -4,9 +4,14 @@ import com.google.common.reflect.Reflection;
 import net.fabricmc.api.ModInitializer;
 import net.minecraft.util.Identifier;
 
+import net.shadew.ndebris.common.block.MurkyDirtBlock;
 import net.shadew.ndebris.common.block.NdBlocks;
 import net.shadew.ndebris.common.item.NdItems;
 import net.shadew.ndebris.common.sound.NdSoundEvents;
+import net.shadew.ndebris.core.profiling.JfrEvents;
+import net.shadew.ndebris.core.world.SimulationQuality;
+import net.shadew.ndebris.core.world.SoilCatchUp;
+import net.shadew.ndebris.core.world.SoilTickGovernor;
 
 public class NaturesDebris implements ModInitializer {
     @Override
@@ -16,6 +21,10 @@ public class NaturesDebris implements ModInitializer {
             NdItems.class,
             NdSoundEvents.class
         );
+        JfrEvents.install();
+        SoilTickGovernor.register();
+        SimulationQuality.register();
+        SoilCatchUp.register(state -> state.getBlock() instanceof MurkyDirtBlock && state.hasRandomTicks());
     }
 
     public static Identifier id(String path) {
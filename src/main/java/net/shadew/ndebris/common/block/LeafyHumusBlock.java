@@ -1,8 +1,6 @@
 package net.shadew.ndebris.common.block;
 
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
-import net.minecraft.block.SnowBlock;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
@@ -11,6 +9,10 @@ import net.minecraft.world.chunk.light.ChunkLightProvider;
 
 import java.util.Random;
 
+import net.shadew.ndebris.core.blocks.StateFlags;
+import net.shadew.ndebris.core.metrics.NdCounter;
+import net.shadew.ndebris.core.profiling.TickProbe;
+
 public class LeafyHumusBlock extends MurkyDirtBlock {
     public LeafyHumusBlock(Settings props) {
         super(props);
@@ -20,10 +22,10 @@ public class LeafyHumusBlock extends MurkyDirtBlock {
         return NdBlocks.MURKY_HUMUS.getDefaultState();
     }
 
-    private static boolean canSustainDeadLeaves(BlockState state, WorldView world, BlockPos pos) {
-        BlockPos upPos = pos.up();
+    private static boolean canSustainDeadLeaves(BlockState state, WorldView world, BlockPos pos, BlockPos.Mutable upPos) {
+        upPos.set(pos, Direction.UP);
         BlockState upState = world.getBlockState(upPos);
-        if (upState.getBlock() == Blocks.SNOW && upState.get(SnowBlock.LAYERS) == 1) {
+        if (StateFlags.any(upState, StateFlags.THIN_SNOW)) {
             return true;
         } else {
             int opacity = ChunkLightProvider.getRealisticOpacity(world, state, pos, upState, upPos, Direction.UP, upState.getOpacity(world, upPos));
@@ -32,10 +34,11 @@ public class LeafyHumusBlock extends MurkyDirtBlock {
     }
 
     @Override
-    @SuppressWarnings("deprecation")
-    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random rand) {
-        if (!canSustainDeadLeaves(state, world, pos)) {
+    protected void tickSoil(BlockState state, ServerWorld world, BlockPos pos, Random rand, BlockPos.Mutable mpos, BlockPos.Mutable upPos) {
+        if (!canSustainDeadLeaves(state, world, pos, upPos)) {
             world.setBlockState(pos, getDecayBlock());
+            TickProbe.converted();
+            NdCounter.LEAFY_DECAYS.increment();
         }
     }
 }
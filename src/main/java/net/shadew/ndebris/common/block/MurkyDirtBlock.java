@@ -1,9 +1,47 @@
 package net.shadew.ndebris.common.block;
 
 import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Random;
+
+import net.shadew.ndebris.core.profiling.TickProbe;
+import net.shadew.ndebris.core.world.SoilTickGovernor;
 
 public class MurkyDirtBlock extends Block {
+    // Soil ticks only run on the server thread, so they share these positions instead of allocating their own
+    private static final BlockPos.Mutable MPOS = new BlockPos.Mutable();
+    private static final BlockPos.Mutable UP_POS = new BlockPos.Mutable();
+
     public MurkyDirtBlock(Settings props) {
         super(props);
     }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random rand) {
+        if (!SoilTickGovernor.admit(world, pos, this)) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        if (TickProbe.begin(this, world, pos)) {
+            try {
+                tickSoil(state, world, pos, rand, MPOS, UP_POS);
+            } finally {
+                TickProbe.end();
+            }
+        } else {
+            tickSoil(state, world, pos, rand, MPOS, UP_POS);
+        }
+        SoilTickGovernor.charge(world, System.nanoTime() - start);
+    }
+
+    /**
+     * Ticks the soil block. The given mutable positions are scratch space, owned by the caller.
+     */
+    protected void tickSoil(BlockState state, ServerWorld world, BlockPos pos, Random rand, BlockPos.Mutable mpos, BlockPos.Mutable upPos) {
+    }
 }
@@ -2,26 +2,27 @@ package net.shadew.ndebris.common.block;
 
 import net.fabricmc.fabric.api.tool.attribute.v1.FabricToolTags;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
-import net.minecraft.block.SnowBlock;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.ItemUsageContext;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
-import net.minecraft.tag.FluidTags;
 import net.minecraft.util.TypedActionResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.BlockView;
+import net.minecraft.world.ModifiableWorld;
 import net.minecraft.world.World;
-import net.minecraft.world.WorldView;
 import net.minecraft.world.chunk.light.ChunkLightProvider;
 
 import java.util.Random;
 
+import net.shadew.ndebris.core.blocks.StateFlags;
 import net.shadew.ndebris.core.blocks.ToolModifiable;
+import net.shadew.ndebris.core.metrics.NdCounter;
+import net.shadew.ndebris.core.profiling.TickProbe;
+import net.shadew.ndebris.core.world.SimulationQuality;
 
 public class MurkyGrassBlock extends MurkyDirtBlock implements ToolModifiable {
     public MurkyGrassBlock(Settings props) {
@@ -36,10 +37,13 @@ public class MurkyGrassBlock extends MurkyDirtBlock implements ToolModifiable {
         return NdBlocks.MURKY_DIRT.getDefaultState();
     }
 
-    private static boolean canSustainGrass(BlockState state, WorldView world, BlockPos pos) {
-        BlockPos upPos = pos.up();
-        BlockState upState = world.getBlockState(upPos);
-        if (upState.getBlock() == Blocks.SNOW && upState.get(SnowBlock.LAYERS) == 1) {
+    static boolean canSustainGrass(BlockState state, BlockView world, BlockPos pos, BlockPos.Mutable upPos) {
+        upPos.set(pos, Direction.UP);
+        return canSustainGrass(state, world, pos, world.getBlockState(upPos), upPos);
+    }
+
+    private static boolean canSustainGrass(BlockState state, BlockView world, BlockPos pos, BlockState upState, BlockPos upPos) {
+        if (StateFlags.any(upState, StateFlags.THIN_SNOW)) {
             return true;
         } else {
             int opacity = ChunkLightProvider.getRealisticOpacity(world, state, pos, upState, upPos, Direction.UP, upState.getOpacity(world, upPos));
@@ -47,23 +51,42 @@ public class MurkyGrassBlock extends MurkyDirtBlock implements ToolModifiable {
         }
     }
 
-    private static boolean canGrow(BlockState state, WorldView world, BlockPos pos) {
-        BlockPos up = pos.up();
-        return canSustainGrass(state, world, pos) && !world.getFluidState(up).isIn(FluidTags.WATER);
+    private static boolean canGrow(BlockState state, BlockView world, BlockPos pos, BlockPos.Mutable upPos) {
+        upPos.set(pos, Direction.UP);
+        BlockState upState = world.getBlockState(upPos);
+        return !StateFlags.any(upState, StateFlags.WATER) && canSustainGrass(state, world, pos, upState, upPos);
+    }
+
+    /**
+     * Picks a random position near the given one into {@code target} and returns whether grass can spread to it.
+     */
+    boolean pickSpreadTarget(BlockView world, BlockPos pos, Random rand, BlockPos.Mutable target, BlockPos.Mutable upPos) {
+        target.set(pos, rand.nextInt(3) - 1, rand.nextInt(5) - 3, rand.nextInt(3) - 1);
+        return isGrowableDirt(world, target) && canGrow(getDefaultState(), world, target, upPos);
     }
 
     @Override
-    @SuppressWarnings("deprecation")
-    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random rand) {
-        if (!canSustainGrass(state, world, pos)) {
-            world.setBlockState(pos, getDecayBlock());
-        } else {
-            BlockState myState = getDefaultState();
+    protected void tickSoil(BlockState state, ServerWorld world, BlockPos pos, Random rand, BlockPos.Mutable mpos, BlockPos.Mutable upPos) {
+        tickGrass(state, world, pos, rand, mpos, upPos);
+    }
 
-            for (int i = 0; i < 4; ++i) {
-                BlockPos randomPos = pos.add(rand.nextInt(3) - 1, rand.nextInt(5) - 3, rand.nextInt(3) - 1);
-                if (isGrowableDirt(world, randomPos) && canGrow(myState, world, randomPos)) {
-                    world.setBlockState(randomPos, myState);
+    /**
+     * Decays the grass block or spreads it around, in any world that can be written. A successful spread copies the
+     * target position, everything else works in the given mutable positions.
+     */
+    <W extends BlockView & ModifiableWorld> void tickGrass(BlockState state, W world, BlockPos pos, Random rand, BlockPos.Mutable randomPos, BlockPos.Mutable upPos) {
+        if (!canSustainGrass(state, world, pos, upPos)) {
+            world.setBlockState(pos, getDecayBlock(), 3);
+            TickProbe.converted();
+        } else {
+            int attempts = SimulationQuality.getGrassSpreadAttempts();
+            for (int i = 0; i < attempts; ++i) {
+                TickProbe.scanned(1);
+                NdCounter.SOIL_SPREAD_ATTEMPTS.increment();
+                if (pickSpreadTarget(world, pos, rand, randomPos, upPos)) {
+                    world.setBlockState(randomPos.toImmutable(), getDefaultState(), 3);
+                    TickProbe.converted();
+                    NdCounter.SOIL_SPREAD_SUCCESSES.increment();
                 }
             }
         }
@@ -77,6 +100,6 @@ public class MurkyGrassBlock extends MurkyDirtBlock implements ToolModifiable {
                 return TypedActionResult.success(NdBlocks.MURKY_GRASS_PATH.getDefaultState());
             }
         }
-        return TypedActionResult.pass(null);
+        return PASS;
     }
 }
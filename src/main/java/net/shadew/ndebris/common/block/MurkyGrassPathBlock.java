@@ -16,12 +16,20 @@ import net.minecraft.world.WorldView;
 
 import java.util.Random;
 
+import net.shadew.ndebris.core.blocks.PathClassification;
+import net.shadew.ndebris.core.metrics.NdCounter;
+import net.shadew.ndebris.core.profiling.TickProbe;
+import net.shadew.ndebris.core.world.TickCoalescer;
+
 @SuppressWarnings("deprecation")
 public class MurkyGrassPathBlock extends Block {
     protected static final VoxelShape SHAPE = createCuboidShape(0, 0, 0, 16, 15, 16);
 
+    private final PathClassification pathClassification;
+
     protected MurkyGrassPathBlock(Settings props) {
         super(props);
+        pathClassification = new PathClassification(this, (state, type) -> false);
     }
 
     @Override
@@ -39,7 +47,7 @@ public class MurkyGrassPathBlock extends Block {
     @Override
     public BlockState getStateForNeighborUpdate(BlockState state, Direction facing, BlockState adjState, WorldAccess world, BlockPos pos, BlockPos adjPos) {
         if (facing == Direction.UP && !state.canPlaceAt(world, pos)) {
-            world.getBlockTickScheduler().schedule(pos, this, 1);
+            TickCoalescer.scheduleBlockTick(world, pos, this, this, 1);
         }
 
         return super.getStateForNeighborUpdate(state, facing, adjState, world, pos, adjPos);
@@ -47,7 +55,16 @@ public class MurkyGrassPathBlock extends Block {
 
     @Override
     public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random rand) {
-        world.setBlockState(pos, pushEntitiesUpBeforeBlockChange(state, NdBlocks.MURKY_DIRT.getDefaultState(), world, pos));
+        boolean probing = TickProbe.begin(this, world, pos);
+        try {
+            world.setBlockState(pos, pushEntitiesUpBeforeBlockChange(state, NdBlocks.MURKY_DIRT.getDefaultState(), world, pos));
+            TickProbe.converted();
+            NdCounter.GRASS_PATH_COLLAPSES.increment();
+        } finally {
+            if (probing) {
+                TickProbe.end();
+            }
+        }
     }
 
     @Override
@@ -63,6 +80,6 @@ public class MurkyGrassPathBlock extends Block {
 
     @Override
     public boolean canPathfindThrough(BlockState state, BlockView world, BlockPos pos, NavigationType type) {
-        return false;
+        return pathClassification.canPathfindThrough(state, type);
     }
 }
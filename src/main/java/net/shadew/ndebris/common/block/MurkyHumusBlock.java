@@ -1,19 +1,20 @@
 package net.shadew.ndebris.common.block;
 
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
-import net.minecraft.block.SnowBlock;
 import net.minecraft.server.world.ServerWorld;
-import net.minecraft.tag.BlockTags;
-import net.minecraft.tag.FluidTags;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.BlockView;
-import net.minecraft.world.WorldView;
+import net.minecraft.world.ModifiableWorld;
 import net.minecraft.world.chunk.light.ChunkLightProvider;
 
 import java.util.Random;
 
+import net.shadew.ndebris.core.blocks.StateFlags;
+import net.shadew.ndebris.core.metrics.NdCounter;
+import net.shadew.ndebris.core.profiling.TickProbe;
+import net.shadew.ndebris.core.world.SimulationQuality;
+
 public class MurkyHumusBlock extends MurkyDirtBlock {
     public MurkyHumusBlock(Settings props) {
         super(props);
@@ -27,10 +28,10 @@ public class MurkyHumusBlock extends MurkyDirtBlock {
         return NdBlocks.LEAFY_HUMUS.getDefaultState();
     }
 
-    private static boolean canSustainDeadLeaves(BlockState state, WorldView world, BlockPos pos) {
-        BlockPos upPos = pos.up();
+    private static boolean canSustainDeadLeaves(BlockState state, BlockView world, BlockPos pos, BlockPos.Mutable upPos) {
+        upPos.set(pos, Direction.UP);
         BlockState upState = world.getBlockState(upPos);
-        if (upState.getBlock() == Blocks.SNOW && upState.get(SnowBlock.LAYERS) == 1) {
+        if (StateFlags.any(upState, StateFlags.THIN_SNOW)) {
             return true;
         } else {
             int opacity = ChunkLightProvider.getRealisticOpacity(world, state, pos, upState, upPos, Direction.UP, upState.getOpacity(world, upPos));
@@ -38,38 +39,49 @@ public class MurkyHumusBlock extends MurkyDirtBlock {
         }
     }
 
-    private static boolean canBecomeLeafy(BlockState state, WorldView world, BlockPos pos) {
-        BlockPos up = pos.up();
-        return canSustainDeadLeaves(state, world, pos) && !world.getFluidState(up).isIn(FluidTags.WATER);
+    private static boolean canBecomeLeafy(BlockState state, BlockView world, BlockPos pos, BlockPos.Mutable upPos) {
+        return canSustainDeadLeaves(state, world, pos, upPos) && !StateFlags.any(world.getBlockState(upPos), StateFlags.WATER);
     }
 
     @Override
-    @SuppressWarnings("deprecation")
-    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random rand) {
+    protected void tickSoil(BlockState state, ServerWorld world, BlockPos pos, Random rand, BlockPos.Mutable mpos, BlockPos.Mutable upPos) {
+        tickHumus(state, world, pos, rand, mpos, upPos);
+    }
+
+    /**
+     * Scans above the humus block for leaves and makes it leafy when it finds any, in any world that can be written.
+     */
+    public <W extends BlockView & ModifiableWorld> void tickHumus(BlockState state, W world, BlockPos pos, Random rand, BlockPos.Mutable mpos, BlockPos.Mutable upPos) {
         int blocked = 0;
-        if (canBecomeLeafy(state, world, pos)) {
-            BlockPos.Mutable mpos = new BlockPos.Mutable();
+        if (SimulationQuality.shouldScanHumus(rand) && canBecomeLeafy(state, world, pos, upPos)) {
             for (int i = 1; i < 14; i++) {
                 mpos.set(pos).move(Direction.UP, i);
+                TickProbe.scanned(5);
+                int flags = StateFlags.of(world.getBlockState(mpos));
 
-                if (world.getBlockState(mpos).isSideSolidFullSquare(world, mpos, Direction.DOWN) || world.getBlockState(mpos).isSideSolidFullSquare(world, mpos, Direction.UP)) {
+                if ((flags & (StateFlags.SOLID_BOTTOM | StateFlags.SOLID_TOP)) != 0) {
                     blocked |= 1;
                 }
 
-                if (world.getBlockState(mpos).isIn(BlockTags.LEAVES) && (blocked & 1) == 0) {
-                    world.setBlockState(pos, getLeafyBlock());
+                if ((flags & StateFlags.LEAVES) != 0 && (blocked & 1) == 0) {
+                    world.setBlockState(pos, getLeafyBlock(), 3);
+                    TickProbe.converted();
+                    NdCounter.HUMUS_CONVERSIONS.increment();
                     return;
                 }
 
                 for (Direction dir : Direction.Type.HORIZONTAL) {
                     int mask = 2 << dir.getHorizontal();
                     mpos.move(dir);
+                    int sideFlags = StateFlags.of(world.getBlockState(mpos));
 
-                    if (world.getBlockState(mpos).isSideSolidFullSquare(world, mpos, Direction.DOWN) || world.getBlockState(mpos).isSideSolidFullSquare(world, mpos, Direction.UP)) {
+                    if ((sideFlags & (StateFlags.SOLID_BOTTOM | StateFlags.SOLID_TOP)) != 0) {
                         blocked |= mask;
                     }
-                    if (world.getBlockState(mpos).isIn(BlockTags.LEAVES) && (blocked & (mask | 1)) != (mask | 1)) {
-                        world.setBlockState(pos, getLeafyBlock());
+                    if ((sideFlags & StateFlags.LEAVES) != 0 && (blocked & (mask | 1)) != (mask | 1)) {
+                        world.setBlockState(pos, getLeafyBlock(), 3);
+                        TickProbe.converted();
+                        NdCounter.HUMUS_CONVERSIONS.increment();
                         return;
                     }
                     mpos.move(dir, -1);
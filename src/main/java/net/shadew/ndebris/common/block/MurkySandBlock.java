@@ -1,9 +1,147 @@
 package net.shadew.ndebris.common.block;
 
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
 import net.minecraft.block.FallingBlock;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import net.minecraft.world.chunk.light.LightingProvider;
+
+import java.util.Random;
 
 public class MurkySandBlock extends FallingBlock {
+    // Players within this range see the column fall as entities, beyond it the column collapses instantly
+    private static final double FALL_ANIMATION_RANGE = 48;
+    private static final Heightmap.Type[] HEIGHTMAPS = {
+        Heightmap.Type.MOTION_BLOCKING,
+        Heightmap.Type.MOTION_BLOCKING_NO_LEAVES,
+        Heightmap.Type.OCEAN_FLOOR,
+        Heightmap.Type.WORLD_SURFACE
+    };
+    private static final Direction[] HORIZONTAL = {Direction.NORTH, Direction.EAST, Direction.SOUTH, Direction.WEST};
+
     public MurkySandBlock(Settings props) {
         super(props);
     }
+
+    @Override
+    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random rand) {
+        if (!canFallThrough(world.getBlockState(pos.down())) || pos.getY() < 0) {
+            return;
+        }
+
+        if (world.isPlayerInRange(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5, FALL_ANIMATION_RANGE)) {
+            super.scheduledTick(state, world, pos, rand);
+        } else {
+            collapseColumn(world, pos);
+        }
+    }
+
+    // Writes the column straight into the chunk sections and sends the changes in one section update, instead of a
+    // block update and packet per block. Neighbours are notified once the column is written: every changed cell
+    // updates its horizontal neighbours, and the ends also update the blocks above and below.
+    private void collapseColumn(ServerWorld world, BlockPos pos) {
+        BlockPos.Mutable mpos = new BlockPos.Mutable();
+        BlockPos.Mutable npos = new BlockPos.Mutable();
+        int x = pos.getX(), z = pos.getZ();
+        int bottom = pos.getY();
+        WorldChunk chunk = world.getWorldChunk(pos);
+
+        int top = bottom;
+        while (top + 1 < world.getHeight() && chunk.getBlockState(mpos.set(x, top + 1, z)).isOf(this)) {
+            top++;
+        }
+
+        int landing = bottom - 1;
+        while (landing >= 0 && canFallThrough(chunk.getBlockState(mpos.set(x, landing, z)))) {
+            landing--;
+        }
+
+        BlockState air = Blocks.AIR.getDefaultState();
+        if (landing < 0) {
+            // Fell out of the world
+            for (int y = top; y >= bottom; y--) {
+                setInChunk(world, chunk, mpos.set(x, y, z), air);
+            }
+            chunk.setShouldSave(true);
+            notifyChanged(world, x, bottom, top, z, mpos, npos);
+            return;
+        }
+
+        // Only the ends of the column change: fill the gap below and clear the same amount at the top
+        int newBottom = landing + 1;
+        int newTop = newBottom + top - bottom;
+        BlockState sand = getDefaultState();
+        for (int y = newBottom; y <= Math.min(newTop, bottom - 1); y++) {
+            mpos.set(x, y, z);
+            BlockState replaced = chunk.getBlockState(mpos);
+            if (replaced.getBlock().hasBlockEntity()) {
+                // Plants, snow and the like are replaced without drops, as when a falling block entity lands in them
+                world.removeBlockEntity(mpos);
+            }
+            setInChunk(world, chunk, mpos, sand);
+        }
+        for (int y = Math.max(bottom, newTop + 1); y <= top; y++) {
+            setInChunk(world, chunk, mpos.set(x, y, z), air);
+        }
+
+        chunk.setShouldSave(true);
+        if (newTop < bottom - 1) {
+            // The column landed apart from where it was, notify the moved cells and the cleared cells separately
+            notifyChanged(world, x, newBottom, newTop, z, mpos, npos);
+            notifyChanged(world, x, bottom, top, z, mpos, npos);
+        } else {
+            notifyChanged(world, x, newBottom, top, z, mpos, npos);
+        }
+    }
+
+    // Sends block and shape updates around the changed cells from y = from to y = to, which setInChunk skips
+    private void notifyChanged(ServerWorld world, int x, int from, int to, int z, BlockPos.Mutable mpos, BlockPos.Mutable npos) {
+        for (int y = from; y <= to; y++) {
+            mpos.set(x, y, z);
+            BlockState state = world.getBlockState(mpos);
+            for (Direction dir : HORIZONTAL) {
+                notifyNeighbor(world, mpos, state, npos.set(mpos, dir), dir);
+            }
+        }
+        notifyNeighbor(world, mpos.set(x, from, z), world.getBlockState(mpos), npos.set(mpos, Direction.DOWN), Direction.DOWN);
+        notifyNeighbor(world, mpos.set(x, to, z), world.getBlockState(mpos), npos.set(mpos, Direction.UP), Direction.UP);
+    }
+
+    private void notifyNeighbor(ServerWorld world, BlockPos pos, BlockState state, BlockPos neighborPos, Direction dir) {
+        world.updateNeighbor(neighborPos, this, pos);
+        BlockState neighbor = world.getBlockState(neighborPos);
+        BlockState updated = neighbor.getStateForNeighborUpdate(dir.getOpposite(), state, world, neighborPos, pos);
+        Block.replace(neighbor, updated, world, neighborPos, 3);
+    }
+
+    private static void setInChunk(ServerWorld world, WorldChunk chunk, BlockPos pos, BlockState state) {
+        ChunkSection[] sections = chunk.getSectionArray();
+        int index = pos.getY() >> 4;
+        ChunkSection section = sections[index];
+        if (section == WorldChunk.EMPTY_SECTION) {
+            if (state.isAir()) {
+                return;
+            }
+            section = new ChunkSection(index << 4);
+            sections[index] = section;
+        }
+
+        LightingProvider lighting = world.getChunkManager().getLightingProvider();
+        boolean wasEmpty = section.isEmpty();
+        section.setBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15, state);
+        if (wasEmpty != section.isEmpty()) {
+            lighting.setSectionStatus(pos, section.isEmpty());
+        }
+        for (Heightmap.Type type : HEIGHTMAPS) {
+            chunk.getHeightmap(type).trackUpdate(pos.getX() & 15, pos.getY(), pos.getZ() & 15, state);
+        }
+        lighting.checkBlock(pos);
+        world.getChunkManager().markForUpdate(pos);
+    }
 }
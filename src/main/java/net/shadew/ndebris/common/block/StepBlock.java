@@ -12,7 +12,6 @@ import net.minecraft.state.property.BooleanProperty;
 import net.minecraft.state.property.DirectionProperty;
 import net.minecraft.state.property.EnumProperty;
 import net.minecraft.state.property.Properties;
-import net.minecraft.tag.FluidTags;
 import net.minecraft.util.BlockMirror;
 import net.minecraft.util.BlockRotation;
 import net.minecraft.util.math.BlockPos;
@@ -22,8 +21,13 @@ import net.minecraft.util.shape.VoxelShapes;
 import net.minecraft.world.BlockView;
 import net.minecraft.world.WorldAccess;
 
+import java.util.List;
 import java.util.stream.IntStream;
 
+import net.shadew.ndebris.core.blocks.IndexedState;
+import net.shadew.ndebris.core.blocks.PathClassification;
+import net.shadew.ndebris.core.world.TickCoalescer;
+
 @SuppressWarnings("deprecation")
 public class StepBlock extends Block implements Waterloggable {
     public static final DirectionProperty FACING = HorizontalFacingBlock.FACING;
@@ -88,6 +92,10 @@ public class StepBlock extends Block implements Waterloggable {
         return shape;
     }
 
+    private final BlockState[][] rotatedStates = new BlockState[BlockRotation.values().length][];
+    private final BlockState[][] mirroredStates = new BlockState[BlockMirror.values().length][];
+    private final PathClassification pathClassification;
+
     public StepBlock(AbstractBlock.Settings props) {
         super(props);
         setDefaultState(
@@ -97,6 +105,29 @@ public class StepBlock extends Block implements Waterloggable {
                         .with(SHAPE, StairShape.STRAIGHT)
                         .with(WATERLOGGED, false)
         );
+        buildTransformTables();
+        pathClassification = new PathClassification(
+            this, (state, type) -> type == NavigationType.WATER && state.get(WATERLOGGED)
+        );
+    }
+
+    private void buildTransformTables() {
+        List<BlockState> states = stateManager.getStates();
+        for (BlockRotation rot : BlockRotation.values()) {
+            BlockState[] table = new BlockState[states.size()];
+            for (int i = 0, l = states.size(); i < l; i++) {
+                table[i] = computeRotate(states.get(i), rot);
+            }
+            rotatedStates[rot.ordinal()] = table;
+        }
+
+        for (BlockMirror mirror : BlockMirror.values()) {
+            BlockState[] table = new BlockState[states.size()];
+            for (int i = 0, l = states.size(); i < l; i++) {
+                table[i] = computeMirror(states.get(i), mirror);
+            }
+            mirroredStates[mirror.ordinal()] = table;
+        }
     }
 
     @Override
@@ -109,10 +140,18 @@ public class StepBlock extends Block implements Waterloggable {
         VoxelShape[] shapes = state.get(HALF) == BlockHalf.TOP
                               ? UPPER_SHAPES
                               : LOWER_SHAPES;
-        return shapes[STATE_TO_SHAPE_BITMASK[stateIndex(state)]];
+        return shapes[getCornerBitmask(state)];
     }
 
-    private int stateIndex(BlockState state) {
+    /**
+     * Returns which quarters of the step's half are filled: 1 for north-west, 2 for north-east, 4 for south-west and 8
+     * for south-east.
+     */
+    public static int getCornerBitmask(BlockState state) {
+        return STATE_TO_SHAPE_BITMASK[stateIndex(state)];
+    }
+
+    private static int stateIndex(BlockState state) {
         return state.get(SHAPE).ordinal() * 4 + state.get(FACING).getHorizontal();
     }
 
@@ -137,29 +176,32 @@ public class StepBlock extends Block implements Waterloggable {
                                              .with(HALF, half)
                                              .with(WATERLOGGED, fstate.getFluid() == Fluids.WATER);
 
-        return bstate.with(SHAPE, connect(bstate, ctx.getWorld(), pos));
+        return bstate.with(SHAPE, connect(bstate, ctx.getWorld(), pos, new BlockPos.Mutable()));
     }
 
     @Override
     public BlockState getStateForNeighborUpdate(BlockState state, Direction facing, BlockState adjState, WorldAccess world, BlockPos pos, BlockPos adjPos) {
         if (state.get(WATERLOGGED)) {
-            world.getFluidTickScheduler()
-                 .schedule(pos, Fluids.WATER, Fluids.WATER.getTickRate(world));
+            TickCoalescer.scheduleFluidTick(world, pos, this, Fluids.WATER, Fluids.WATER.getTickRate(world));
         }
 
-        return facing.getAxis().isHorizontal()
-               ? state.with(SHAPE, connect(state, world, pos))
-               : super.getStateForNeighborUpdate(state, facing, adjState, world, pos, adjPos);
+        if (!facing.getAxis().isHorizontal()) {
+            return super.getStateForNeighborUpdate(state, facing, adjState, world, pos, adjPos);
+        }
+        return StepConnections.isDeferred(pos)
+               ? state
+               : state.with(SHAPE, connect(state, world, pos, new BlockPos.Mutable()));
     }
 
-    private static StairShape connect(BlockState myState, BlockView world, BlockPos pos) {
+    // Neighbours are looked up through mpos, which must not be pos. Bulk passes reuse one for every step.
+    static StairShape connect(BlockState myState, BlockView world, BlockPos pos, BlockPos.Mutable mpos) {
         Direction myFacing = myState.get(FACING);
 
         // Check back side, generating outer corner
-        BlockState backState = world.getBlockState(pos.offset(myFacing));
+        BlockState backState = world.getBlockState(mpos.set(pos, myFacing));
         if (isStepBlock(backState) && myState.get(HALF) == backState.get(HALF)) {
             Direction backFacing = backState.get(FACING);
-            if (backFacing.getAxis() != myState.get(FACING).getAxis() && isDifferentStep(myState, world, pos, backFacing.getOpposite())) {
+            if (backFacing.getAxis() != myState.get(FACING).getAxis() && isDifferentStep(myState, world, mpos.set(pos, backFacing.getOpposite()))) {
                 return backFacing == myFacing.rotateYCounterclockwise()
                        ? StairShape.OUTER_LEFT
                        : StairShape.OUTER_RIGHT;
@@ -167,10 +209,10 @@ public class StepBlock extends Block implements Waterloggable {
         }
 
         // Check front side, generating inner corner
-        BlockState frontState = world.getBlockState(pos.offset(myFacing.getOpposite()));
+        BlockState frontState = world.getBlockState(mpos.set(pos, myFacing.getOpposite()));
         if (isStepBlock(frontState) && myState.get(HALF) == frontState.get(HALF)) {
             Direction frontFacing = frontState.get(FACING);
-            if (frontFacing.getAxis() != myState.get(FACING).getAxis() && isDifferentStep(myState, world, pos, frontFacing)) {
+            if (frontFacing.getAxis() != myState.get(FACING).getAxis() && isDifferentStep(myState, world, mpos.set(pos, frontFacing))) {
                 return frontFacing == myFacing.rotateYCounterclockwise()
                        ? StairShape.INNER_LEFT
                        : StairShape.INNER_RIGHT;
@@ -180,8 +222,8 @@ public class StepBlock extends Block implements Waterloggable {
         return StairShape.STRAIGHT;
     }
 
-    private static boolean isDifferentStep(BlockState state, BlockView world, BlockPos pos, Direction dir) {
-        BlockState otherState = world.getBlockState(pos.offset(dir));
+    private static boolean isDifferentStep(BlockState state, BlockView world, BlockPos otherPos) {
+        BlockState otherState = world.getBlockState(otherPos);
         return !isStepBlock(otherState)
                    || otherState.get(FACING) != state.get(FACING)
                    || otherState.get(HALF) != state.get(HALF);
@@ -193,11 +235,21 @@ public class StepBlock extends Block implements Waterloggable {
 
     @Override
     public BlockState rotate(BlockState state, BlockRotation rot) {
-        return state.with(FACING, rot.rotate(state.get(FACING)));
+        return rotatedStates[rot.ordinal()][IndexedState.indexOf(state)];
     }
 
     @Override
     public BlockState mirror(BlockState state, BlockMirror mirror) {
+        return mirroredStates[mirror.ordinal()][IndexedState.indexOf(state)];
+    }
+
+    // Rotation and mirroring are served from tables built by the constructor, indexed by the state's index in the
+    // state list. The methods below define them.
+    static BlockState computeRotate(BlockState state, BlockRotation rot) {
+        return state.with(FACING, rot.rotate(state.get(FACING)));
+    }
+
+    BlockState computeMirror(BlockState state, BlockMirror mirror) {
         Direction facing = state.get(FACING);
         StairShape shape = state.get(SHAPE);
         switch (mirror) {
@@ -205,15 +257,15 @@ public class StepBlock extends Block implements Waterloggable {
                 if (facing.getAxis() == Direction.Axis.Z) {
                     switch (shape) {
                         case INNER_LEFT:
-                            return state.rotate(BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.INNER_RIGHT);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.INNER_RIGHT);
                         case INNER_RIGHT:
-                            return state.rotate(BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.INNER_LEFT);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.INNER_LEFT);
                         case OUTER_LEFT:
-                            return state.rotate(BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.OUTER_RIGHT);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.OUTER_RIGHT);
                         case OUTER_RIGHT:
-                            return state.rotate(BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.OUTER_LEFT);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.OUTER_LEFT);
                         default:
-                            return state.rotate(BlockRotation.CLOCKWISE_180);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180);
                     }
                 }
                 break;
@@ -221,15 +273,15 @@ public class StepBlock extends Block implements Waterloggable {
                 if (facing.getAxis() == Direction.Axis.X) {
                     switch (shape) {
                         case INNER_LEFT:
-                            return state.rotate(BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.INNER_LEFT);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.INNER_LEFT);
                         case INNER_RIGHT:
-                            return state.rotate(BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.INNER_RIGHT);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.INNER_RIGHT);
                         case OUTER_LEFT:
-                            return state.rotate(BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.OUTER_RIGHT);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.OUTER_RIGHT);
                         case OUTER_RIGHT:
-                            return state.rotate(BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.OUTER_LEFT);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180).with(SHAPE, StairShape.OUTER_LEFT);
                         case STRAIGHT:
-                            return state.rotate(BlockRotation.CLOCKWISE_180);
+                            return computeRotate(state, BlockRotation.CLOCKWISE_180);
                     }
                 }
         }
@@ -251,6 +303,6 @@ public class StepBlock extends Block implements Waterloggable {
 
     @Override
     public boolean canPathfindThrough(BlockState state, BlockView world, BlockPos pos, NavigationType type) {
-        return type == NavigationType.WATER && world.getFluidState(pos).isIn(FluidTags.WATER);
+        return pathClassification.canPathfindThrough(state, type);
     }
 }
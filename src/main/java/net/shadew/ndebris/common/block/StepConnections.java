@@ -0,0 +1,131 @@
+package net.shadew.ndebris.common.block;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.enums.StairShape;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.WorldAccess;
+
+/**
+ * Resolves the connections of all steps in a box in one sweep. This runs after every structure placement that contains
+ * steps, from structure blocks as well as during world generation. The shape of a step only depends on the facing and
+ * half of its horizontal neighbours, never on their shape, so a single pass over a snapshot of the box gives the final
+ * shapes. These are written once, without neighbour updates, instead of every step re-triggering its neighbours.
+ * <p>
+ * While a structure with steps is being placed, steps inside its box ignore shape updates from their horizontal
+ * neighbours, see {@link #deferIn}, so vanilla's per-block update cascade doesn't reconnect them on the way.
+ */
+public final class StepConnections {
+    // Send to clients, but skip neighbour updates and shape update cascades
+    private static final int SET_FLAGS = 2 | 16;
+
+    private static final ThreadLocal<BlockBox> DEFERRED = new ThreadLocal<>();
+
+    /**
+     * Defers the connections of steps in the given box on this thread, until {@link #endDeferral} is called. The caller
+     * resolves the box afterwards.
+     */
+    public static void deferIn(BlockBox box) {
+        DEFERRED.set(box);
+    }
+
+    public static BlockBox getDeferred() {
+        return DEFERRED.get();
+    }
+
+    public static void endDeferral() {
+        DEFERRED.remove();
+    }
+
+    static boolean isDeferred(BlockPos pos) {
+        BlockBox box = DEFERRED.get();
+        return box != null && box.contains(pos);
+    }
+
+    public static int resolve(WorldAccess world, BlockBox box) {
+        Snapshot snapshot = new Snapshot(world, box);
+        BlockPos.Mutable mpos = new BlockPos.Mutable();
+        BlockPos.Mutable npos = new BlockPos.Mutable();
+        int changed = 0;
+
+        for (int y = box.minY; y <= box.maxY; y++) {
+            for (int z = box.minZ; z <= box.maxZ; z++) {
+                for (int x = box.minX; x <= box.maxX; x++) {
+                    mpos.set(x, y, z);
+                    BlockState state = snapshot.getBlockState(mpos);
+                    if (!StepBlock.isStepBlock(state)) {
+                        continue;
+                    }
+
+                    StairShape shape = StepBlock.connect(state, snapshot, mpos, npos);
+                    if (state.get(StepBlock.SHAPE) != shape) {
+                        world.setBlockState(mpos, state.with(StepBlock.SHAPE, shape), SET_FLAGS);
+                        changed++;
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    private static final class Snapshot implements BlockView {
+        private static final BlockState OUTSIDE = Blocks.VOID_AIR.getDefaultState();
+
+        private final int minX, minY, minZ;
+        private final int sizeX, sizeY, sizeZ;
+        private final BlockState[] states;
+
+        Snapshot(WorldAccess world, BlockBox box) {
+            // Steps look one block sideways
+            minX = box.minX - 1;
+            minY = box.minY;
+            minZ = box.minZ - 1;
+            sizeX = box.getBlockCountX() + 2;
+            sizeY = box.getBlockCountY();
+            sizeZ = box.getBlockCountZ() + 2;
+            states = new BlockState[sizeX * sizeY * sizeZ];
+
+            BlockPos.Mutable mpos = new BlockPos.Mutable();
+            for (int y = 0; y < sizeY; y++) {
+                for (int z = 0; z < sizeZ; z++) {
+                    for (int x = 0; x < sizeX; x++) {
+                        mpos.set(minX + x, minY + y, minZ + z);
+                        states[index(x, y, z)] = world.getBlockState(mpos);
+                    }
+                }
+            }
+        }
+
+        private int index(int x, int y, int z) {
+            return (y * sizeZ + z) * sizeX + x;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            int x = pos.getX() - minX;
+            int y = pos.getY() - minY;
+            int z = pos.getZ() - minZ;
+            if (x < 0 || y < 0 || z < 0 || x >= sizeX || y >= sizeY || z >= sizeZ) {
+                return OUTSIDE;
+            }
+            return states[index(x, y, z)];
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return getBlockState(pos).getFluidState();
+        }
+
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return null;
+        }
+    }
+
+    private StepConnections() {
+    }
+}
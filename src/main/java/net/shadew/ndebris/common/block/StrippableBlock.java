@@ -33,6 +33,6 @@ public class StrippableBlock extends Block implements ToolModifiable {
                 return TypedActionResult.success(strippedBlock.get().getDefaultState());
             }
         }
-        return TypedActionResult.pass(null);
+        return PASS;
     }
 }
@@ -34,6 +34,6 @@ public class StrippableLogBlock extends PillarBlock implements ToolModifiable {
                 return TypedActionResult.success(strippedBlock.get().getDefaultState().with(AXIS, state.get(AXIS)));
             }
         }
-        return TypedActionResult.pass(null);
+        return PASS;
     }
 }
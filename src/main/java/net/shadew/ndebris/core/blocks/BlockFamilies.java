@@ -0,0 +1,32 @@
+package net.shadew.ndebris.core.blocks;
+
+import net.minecraft.util.Identifier;
+
+/**
+ * Groups blocks into families by their base material, by stripping shape suffixes from the block id: rock bricks,
+ * rock bricks stairs, slab, step and wall are all in family {@code rock_bricks}.
+ */
+public final class BlockFamilies {
+    private static final String[] SUFFIXES = {
+        "_stairs", "_slab", "_step", "_wall", "_fence_gate", "_fence", "_door", "_trapdoor", "_button",
+        "_pressure_plate", "_log", "_wood", "_planks", "_leaves", "_sapling"
+    };
+
+    public static String of(Identifier id) {
+        String path = id.getPath();
+        boolean stripped = true;
+        while (stripped) {
+            stripped = false;
+            for (String suffix : SUFFIXES) {
+                if (path.endsWith(suffix) && path.length() > suffix.length()) {
+                    path = path.substring(0, path.length() - suffix.length());
+                    stripped = true;
+                }
+            }
+        }
+        return path;
+    }
+
+    private BlockFamilies() {
+    }
+}
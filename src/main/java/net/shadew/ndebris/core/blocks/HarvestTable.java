@@ -0,0 +1,137 @@
+package net.shadew.ndebris.core.blocks;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.tool.attribute.v1.DynamicAttributeTool;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.tag.BlockTags;
+import net.minecraft.tag.ItemTags;
+import net.minecraft.tag.TagGroup;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Harvestability and mining speed of Nature's Debris blocks per held item. The table belongs to the current tag groups
+ * and is replaced as soon as tags are reloaded. A row covers all items and is built the first time its block is mined.
+ */
+public final class HarvestTable {
+    private static final Object LOCK = new Object();
+    private static final Row FOREIGN = new Row();
+    private static volatile HarvestTable current;
+
+    private final TagGroup<Block> blockTags;
+    private final TagGroup<Item> itemTags;
+    private final Map<Block, Row> rows = new ConcurrentHashMap<>();
+
+    private HarvestTable(TagGroup<Block> blockTags, TagGroup<Item> itemTags) {
+        this.blockTags = blockTags;
+        this.itemTags = itemTags;
+    }
+
+    public static HarvestTable get() {
+        TagGroup<Block> blockTags = BlockTags.getTagGroup();
+        TagGroup<Item> itemTags = ItemTags.getTagGroup();
+
+        HarvestTable table = current;
+        if (table == null || table.blockTags != blockTags || table.itemTags != itemTags) {
+            synchronized (LOCK) {
+                table = current;
+                if (table == null || table.blockTags != blockTags || table.itemTags != itemTags) {
+                    current = table = new HarvestTable(blockTags, itemTags);
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the harvest row of the given block, or null when the block is not a Nature's Debris block.
+     */
+    public Row row(Block block) {
+        Row row = rows.computeIfAbsent(block, HarvestTable::computeRow);
+        return row == FOREIGN ? null : row;
+    }
+
+    private static Row computeRow(Block block) {
+        Identifier id = Registry.BLOCK.getId(block);
+        if (!id.getNamespace().equals("ndebris")) {
+            return FOREIGN;
+        }
+        return new Row(block.getDefaultState());
+    }
+
+    public static final class Row {
+        private static final Entry DYNAMIC = new Entry(false, Float.NaN);
+
+        private final boolean toolRequired;
+        private final Entry fallback;
+        private final Map<Item, Entry> entries = new Reference2ObjectOpenHashMap<>();
+
+        private Row() {
+            toolRequired = false;
+            fallback = DYNAMIC;
+        }
+
+        private Row(BlockState state) {
+            toolRequired = state.isToolRequired();
+            fallback = compute(new ItemStack(Items.STICK), state);
+
+            for (Item item : Registry.ITEM) {
+                if (item instanceof DynamicAttributeTool) {
+                    entries.put(item, DYNAMIC);
+                } else {
+                    Entry entry = compute(new ItemStack(item), state);
+                    if (!entry.equals(fallback)) {
+                        entries.put(item, entry);
+                    }
+                }
+            }
+        }
+
+        private static Entry compute(ItemStack stack, BlockState state) {
+            return new Entry(stack.isEffectiveOn(state), stack.getMiningSpeedMultiplier(state));
+        }
+
+        private Entry entry(ItemStack stack, BlockState state) {
+            Entry entry = entries.getOrDefault(stack.getItem(), fallback);
+            return entry == DYNAMIC ? compute(stack, state) : entry;
+        }
+
+        public boolean canHarvest(ItemStack stack, BlockState state) {
+            return !toolRequired || entry(stack, state).effective;
+        }
+
+        public float getSpeed(ItemStack stack, BlockState state) {
+            return entry(stack, state).speed;
+        }
+    }
+
+    private static final class Entry {
+        final boolean effective;
+        final float speed;
+
+        Entry(boolean effective, float speed) {
+            this.effective = effective;
+            this.speed = speed;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Entry)) return false;
+            Entry entry = (Entry) obj;
+            return effective == entry.effective && Float.compare(speed, entry.speed) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Boolean.hashCode(effective) + Float.hashCode(speed);
+        }
+    }
+}
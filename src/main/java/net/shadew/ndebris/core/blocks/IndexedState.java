@@ -0,0 +1,39 @@
+package net.shadew.ndebris.core.blocks;
+
+import net.minecraft.block.BlockState;
+
+import java.util.List;
+
+/**
+ * Implemented on every block state by a mixin, which stores the index of the state in the state list of its block when
+ * the state manager is built. This lets per-state data live in arrays instead of maps keyed by state.
+ */
+public interface IndexedState {
+    int ndebris_getStateIndex();
+
+    void ndebris_setStateIndex(int index);
+
+    /**
+     * Stores in every indexed state of the list its index in the list. Called by the mixin when a state manager is
+     * built.
+     */
+    static void assignIndices(List<?> states) {
+        for (int i = 0, l = states.size(); i < l; i++) {
+            Object state = states.get(i);
+            if (state instanceof IndexedState) {
+                ((IndexedState) state).ndebris_setStateIndex(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the state in {@code state.getBlock().getStateManager().getStates()}. Where mixins are not
+     * applied, as in unit tests, the state list is searched instead.
+     */
+    static int indexOf(BlockState state) {
+        if (state instanceof IndexedState) {
+            return ((IndexedState) state).ndebris_getStateIndex();
+        }
+        return state.getBlock().getStateManager().getStates().indexOf(state);
+    }
+}
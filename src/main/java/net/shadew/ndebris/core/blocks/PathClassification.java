@@ -0,0 +1,32 @@
+package net.shadew.ndebris.core.blocks;
+
+import it.unimi.dsi.fastutil.objects.Reference2ByteOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.ai.pathing.NavigationType;
+
+import java.util.function.BiPredicate;
+
+/**
+ * Per-state answers to {@code canPathfindThrough}, computed once when the block is constructed. The classifier may
+ * only look at the state itself, the world is not available at that point.
+ */
+public final class PathClassification {
+    private final Reference2ByteOpenHashMap<BlockState> pathable = new Reference2ByteOpenHashMap<>();
+
+    public PathClassification(Block block, BiPredicate<BlockState, NavigationType> classifier) {
+        for (BlockState state : block.getStateManager().getStates()) {
+            int bits = 0;
+            for (NavigationType type : NavigationType.values()) {
+                if (classifier.test(state, type)) {
+                    bits |= 1 << type.ordinal();
+                }
+            }
+            pathable.put(state, (byte) bits);
+        }
+    }
+
+    public boolean canPathfindThrough(BlockState state, NavigationType type) {
+        return (pathable.getByte(state) & 1 << type.ordinal()) != 0;
+    }
+}
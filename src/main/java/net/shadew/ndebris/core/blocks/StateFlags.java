@@ -0,0 +1,92 @@
+package net.shadew.ndebris.core.blocks;
+
+import it.unimi.dsi.fastutil.objects.Reference2ByteOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.SnowBlock;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.tag.BlockTags;
+import net.minecraft.tag.FluidTags;
+import net.minecraft.tag.TagGroup;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.world.EmptyBlockView;
+
+/**
+ * Precomputed per-state flags for the neighbourhood tests of murky soil. Leaves and water depend on tags, so the table
+ * is rebuilt whenever the block or fluid tag group is replaced. Solid faces are tested like the vanilla shape cache
+ * does, against an empty world.
+ */
+public final class StateFlags {
+    public static final int LEAVES = 1;
+    public static final int SOLID_TOP = 2;
+    public static final int SOLID_BOTTOM = 4;
+    public static final int THIN_SNOW = 8;
+    public static final int WATER = 16;
+
+    private static final Object LOCK = new Object();
+    private static volatile StateFlags current;
+
+    private final TagGroup<Block> blockTags;
+    private final TagGroup<Fluid> fluidTags;
+    private final Reference2ByteOpenHashMap<BlockState> flags = new Reference2ByteOpenHashMap<>();
+
+    private StateFlags(TagGroup<Block> blockTags, TagGroup<Fluid> fluidTags) {
+        this.blockTags = blockTags;
+        this.fluidTags = fluidTags;
+
+        flags.defaultReturnValue((byte) -1);
+        for (Block block : Registry.BLOCK) {
+            for (BlockState state : block.getStateManager().getStates()) {
+                flags.put(state, (byte) compute(state));
+            }
+        }
+    }
+
+    private static int compute(BlockState state) {
+        int bits = 0;
+        if (state.isIn(BlockTags.LEAVES)) {
+            bits |= LEAVES;
+        }
+        if (state.isSideSolidFullSquare(EmptyBlockView.INSTANCE, BlockPos.ORIGIN, Direction.UP)) {
+            bits |= SOLID_TOP;
+        }
+        if (state.isSideSolidFullSquare(EmptyBlockView.INSTANCE, BlockPos.ORIGIN, Direction.DOWN)) {
+            bits |= SOLID_BOTTOM;
+        }
+        if (state.getBlock() == Blocks.SNOW && state.get(SnowBlock.LAYERS) == 1) {
+            bits |= THIN_SNOW;
+        }
+        if (state.getFluidState().isIn(FluidTags.WATER)) {
+            bits |= WATER;
+        }
+        return bits;
+    }
+
+    private static StateFlags get() {
+        TagGroup<Block> blockTags = BlockTags.getTagGroup();
+        TagGroup<Fluid> fluidTags = FluidTags.getTagGroup();
+
+        StateFlags table = current;
+        if (table == null || table.blockTags != blockTags || table.fluidTags != fluidTags) {
+            synchronized (LOCK) {
+                table = current;
+                if (table == null || table.blockTags != blockTags || table.fluidTags != fluidTags) {
+                    current = table = new StateFlags(blockTags, fluidTags);
+                }
+            }
+        }
+        return table;
+    }
+
+    public static int of(BlockState state) {
+        byte bits = get().flags.getByte(state);
+        return bits < 0 ? compute(state) : bits;
+    }
+
+    public static boolean any(BlockState state, int mask) {
+        return (of(state) & mask) != 0;
+    }
+}
@@ -10,5 +10,7 @@ import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
 
 public interface ToolModifiable {
+    TypedActionResult<BlockState> PASS = TypedActionResult.pass(null);
+
     TypedActionResult<BlockState> handleModification(BlockState state, World world, BlockPos pos, ItemStack item, Direction face, PlayerEntity player, ItemUsageContext context);
 }
@@ -0,0 +1,102 @@
+package net.shadew.ndebris.core.metrics;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.registry.Registry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically writes all {@link NdCounter}s and {@link NdBlockCounter}s to a Prometheus text format file in the server directory, for the
+ * textfile collector of a node exporter. The interval is set in seconds by the {@code ndebris.metrics.interval} system
+ * property, a value of zero or less disables the export.
+ */
+public final class MetricsExporter {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String FILE_NAME = "ndebris-metrics.prom";
+    private static final long INTERVAL = Long.getLong("ndebris.metrics.interval", 60);
+
+    private static ScheduledExecutorService executor;
+    private static Path file;
+
+    public static void register() {
+        if (INTERVAL <= 0) {
+            return;
+        }
+        ServerLifecycleEvents.SERVER_STARTED.register(MetricsExporter::start);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> stop());
+    }
+
+    private static synchronized void start(MinecraftServer server) {
+        file = server.getRunDirectory().toPath().resolve(FILE_NAME);
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Nature's Debris Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(MetricsExporter::flush, INTERVAL, INTERVAL, TimeUnit.SECONDS);
+    }
+
+    private static synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            executor = null;
+            flush();
+        }
+    }
+
+    private static void flush() {
+        Path tmp = file.resolveSibling(FILE_NAME + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (NdCounter counter : NdCounter.values()) {
+                    String name = counter.getMetricName();
+                    writer.write("# HELP " + name + " " + counter.getHelp() + "\n");
+                    writer.write("# TYPE " + name + " counter\n");
+                    writer.write(name + " " + counter.get() + "\n");
+                }
+                for (NdBlockCounter counter : NdBlockCounter.values()) {
+                    String name = counter.getMetricName();
+                    writer.write("# HELP " + name + " " + counter.getHelp() + "\n");
+                    writer.write("# TYPE " + name + " counter\n");
+                    StringBuilder series = new StringBuilder();
+                    counter.forEach((block, count) -> series.append(name)
+                                                            .append("{block=\"")
+                                                            .append(Registry.BLOCK.getId(block))
+                                                            .append("\"} ")
+                                                            .append(count)
+                                                            .append('\n'));
+                    writer.write(series.toString());
+                }
+            }
+
+            // Scrapers must never see a half written file
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException exc) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException exc) {
+            LOGGER.warn("Failed to write metrics to {}", file, exc);
+        }
+    }
+
+    private MetricsExporter() {
+    }
+}
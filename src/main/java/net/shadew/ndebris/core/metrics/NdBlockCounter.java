@@ -0,0 +1,46 @@
+package net.shadew.ndebris.core.metrics;
+
+import net.minecraft.block.Block;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Counters that are kept per block type, exported with a {@code block} label.
+ */
+public enum NdBlockCounter {
+    TICKS_SCHEDULED("ndebris_ticks_scheduled_total", "Block and fluid ticks passed on to the tick scheduler"),
+    TICKS_COALESCED("ndebris_ticks_coalesced_total", "Block and fluid ticks dropped as duplicates of a pending tick");
+
+    private final String metricName;
+    private final String help;
+    private final Map<Block, LongAdder> counts = new ConcurrentHashMap<>();
+
+    NdBlockCounter(String metricName, String help) {
+        this.metricName = metricName;
+        this.help = help;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public void increment(Block block) {
+        // Look up first: on Java 8, computeIfAbsent locks even when the key is present
+        LongAdder count = counts.get(block);
+        if (count == null) {
+            count = counts.computeIfAbsent(block, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    public void forEach(ObjLongConsumer<Block> consumer) {
+        counts.forEach((block, count) -> consumer.accept(block, count.sum()));
+    }
+}
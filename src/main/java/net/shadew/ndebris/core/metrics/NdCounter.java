@@ -0,0 +1,39 @@
+package net.shadew.ndebris.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public enum NdCounter {
+    SOIL_SPREAD_ATTEMPTS("ndebris_soil_spread_attempts_total", "Positions murky grass tried to spread to"),
+    SOIL_SPREAD_SUCCESSES("ndebris_soil_spread_successes_total", "Murky dirt blocks that murky grass spread to"),
+    HUMUS_CONVERSIONS("ndebris_humus_conversions_total", "Murky humus blocks that became leafy humus"),
+    LEAFY_DECAYS("ndebris_leafy_decays_total", "Leafy humus blocks that decayed to murky humus"),
+    GRASS_PATH_COLLAPSES("ndebris_grass_path_collapses_total", "Murky grass paths that collapsed to murky dirt"),
+    TOOL_MODIFICATIONS("ndebris_tool_modifications_total", "Blocks modified by using a tool on them"),
+    SOIL_TICKS_DEFERRED("ndebris_soil_ticks_deferred_total", "Soil ticks deferred because the tick budget was used up"),
+    SOIL_TICKS_DROPPED("ndebris_soil_ticks_dropped_total", "Soil ticks dropped because the deferral queue was full");
+
+    private final String metricName;
+    private final String help;
+    private final LongAdder count = new LongAdder();
+
+    NdCounter(String metricName, String help) {
+        this.metricName = metricName;
+        this.help = help;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
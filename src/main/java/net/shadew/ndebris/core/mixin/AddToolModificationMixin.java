@@ -14,6 +14,7 @@ import net.minecraft.world.World;
 import org.spongepowered.asm.mixin.Mixin;
 
 import net.shadew.ndebris.core.blocks.ToolModifiable;
+import net.shadew.ndebris.core.metrics.NdCounter;
 
 @Mixin({PickaxeItem.class, SwordItem.class, ShearsItem.class})
 public class AddToolModificationMixin extends Item {
@@ -45,6 +46,7 @@ public class AddToolModificationMixin extends Item {
                 world.playSound(player, pos, SoundEvents.ITEM_AXE_STRIP, SoundCategory.BLOCKS, 1, 1);
                 if (!world.isClient) {
                     world.setBlockState(pos, newState, 11);
+                    NdCounter.TOOL_MODIFICATIONS.increment();
                     if (player != null) {
                         context.getStack().damage(1, player, p -> p.sendToolBreakStatus(context.getHand()));
                     }
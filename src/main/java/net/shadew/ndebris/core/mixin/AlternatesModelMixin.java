@@ -0,0 +1,47 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.ModelBakeSettings;
+import net.minecraft.client.render.model.ModelLoader;
+import net.minecraft.client.render.model.SpriteAtlasManager;
+import net.minecraft.util.Identifier;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyVariable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import net.shadew.ndebris.client.model.AlternatesBakedModel;
+import net.shadew.ndebris.client.model.ModelAlternates;
+import net.shadew.ndebris.client.model.SynthesizedModelProvider;
+
+@Mixin(ModelLoader.class)
+public class AlternatesModelMixin {
+    @Shadow
+    private SpriteAtlasManager spriteAtlasManager;
+
+    @Unique
+    private final Map<Identifier, AlternatesBakedModel.Remap[]> alternateRemaps = new HashMap<>();
+
+    // Wraps the freshly baked model when it is stored in a local, before it goes into the bake cache, so that cache hits
+    // return the same wrapper
+    @ModifyVariable(
+        method = "bake",
+        at = @At(value = "STORE")
+    )
+    private BakedModel wrapAlternates(BakedModel model, Identifier id, ModelBakeSettings settings) {
+        if (model == null) {
+            return null;
+        }
+
+        ModelAlternates alternates = SynthesizedModelProvider.getServedAlternates(id);
+        if (alternates == null) {
+            return model;
+        }
+        AlternatesBakedModel.Remap[] remaps = alternateRemaps.computeIfAbsent(id, k -> alternates.bake(spriteAtlasManager::getSprite));
+        return new AlternatesBakedModel(model, remaps);
+    }
+}
@@ -0,0 +1,17 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.data.DataCache;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+@Mixin(DataCache.class)
+public interface DataCacheAccessor {
+    @Accessor("newSha1")
+    Map<Path, String> getNewSha1();
+
+    @Accessor("unchanged")
+    int getUnchanged();
+}
@@ -18,7 +18,8 @@ public class DataGenMixin {
         if (data) {
             String[] args = {
                 "-all",
-                "-output", "../src/gen/resources/"
+                "-output", "../src/gen/resources/",
+                "-input", "../src/main/resources/"
             };
 
             try {
@@ -0,0 +1,41 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.ModelBakeSettings;
+import net.minecraft.client.render.model.ModelLoader;
+import net.minecraft.client.render.model.SpriteAtlasManager;
+import net.minecraft.client.texture.TextureManager;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.profiler.Profiler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyVariable;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import net.shadew.ndebris.client.model.BakedModelDeduplicator;
+
+// Applied before the other bake mixins, so that models are deduplicated before they are wrapped
+@Mixin(value = ModelLoader.class, priority = 900)
+public class DedupeModelMixin {
+    @Unique
+    private final BakedModelDeduplicator deduplicator = new BakedModelDeduplicator();
+
+    // Runs once for every model baked on a bake cache miss, before it goes into the cache
+    @ModifyVariable(
+        method = "bake",
+        at = @At(value = "STORE")
+    )
+    private BakedModel deduplicate(BakedModel model, Identifier id, ModelBakeSettings settings) {
+        return model == null ? null : deduplicator.deduplicate(id, model);
+    }
+
+    @Inject(
+        method = "upload",
+        at = @At(value = "TAIL")
+    )
+    private void reportDeduplication(TextureManager textureManager, Profiler profiler, CallbackInfoReturnable<SpriteAtlasManager> info) {
+        deduplicator.report();
+    }
+}
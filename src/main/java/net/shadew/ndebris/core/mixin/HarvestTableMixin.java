@@ -0,0 +1,48 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import net.shadew.ndebris.core.blocks.HarvestTable;
+
+@Mixin(PlayerEntity.class)
+public class HarvestTableMixin {
+    @Shadow
+    @Final
+    public PlayerInventory inventory;
+
+    @Inject(
+        method = "isUsingEffectiveTool",
+        at = @At(value = "HEAD"),
+        cancellable = true
+    )
+    private void lookupEffectiveTool(BlockState state, CallbackInfoReturnable<Boolean> info) {
+        HarvestTable.Row row = HarvestTable.get().row(state.getBlock());
+        if (row != null) {
+            info.setReturnValue(row.canHarvest(inventory.getMainHandStack(), state));
+        }
+    }
+
+    @Redirect(
+        method = "getBlockBreakingSpeed",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/entity/player/PlayerInventory;getBlockBreakingSpeed(Lnet/minecraft/block/BlockState;)F"
+        )
+    )
+    private float lookupBreakingSpeed(PlayerInventory inventory, BlockState state) {
+        HarvestTable.Row row = HarvestTable.get().row(state.getBlock());
+        if (row != null) {
+            return row.getSpeed(inventory.getMainHandStack(), state);
+        }
+        return inventory.getBlockBreakingSpeed(state);
+    }
+}
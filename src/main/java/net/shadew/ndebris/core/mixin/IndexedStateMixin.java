@@ -0,0 +1,23 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.block.AbstractBlock;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+
+import net.shadew.ndebris.core.blocks.IndexedState;
+
+@Mixin(AbstractBlock.AbstractBlockState.class)
+public class IndexedStateMixin implements IndexedState {
+    @Unique
+    private int ndebris_stateIndex = -1;
+
+    @Override
+    public int ndebris_getStateIndex() {
+        return ndebris_stateIndex;
+    }
+
+    @Override
+    public void ndebris_setStateIndex(int index) {
+        ndebris_stateIndex = index;
+    }
+}
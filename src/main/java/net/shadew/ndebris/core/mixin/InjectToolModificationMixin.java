@@ -15,6 +15,7 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import net.shadew.ndebris.core.blocks.ToolModifiable;
+import net.shadew.ndebris.core.metrics.NdCounter;
 
 @Mixin({ShovelItem.class, HoeItem.class, AxeItem.class})
 public class InjectToolModificationMixin {
@@ -45,6 +46,7 @@ public class InjectToolModificationMixin {
 
                 if (!world.isClient) {
                     world.setBlockState(pos, newState, 11);
+                    NdCounter.TOOL_MODIFICATIONS.increment();
                     if (player != null) {
                         context.getStack().damage(1, player, p -> p.sendToolBreakStatus(context.getHand()));
                     }
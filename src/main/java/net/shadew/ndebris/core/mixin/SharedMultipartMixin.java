@@ -0,0 +1,58 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.block.Block;
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.ModelBakeSettings;
+import net.minecraft.client.render.model.ModelLoader;
+import net.minecraft.client.render.model.MultipartBakedModel;
+import net.minecraft.client.render.model.UnbakedModel;
+import net.minecraft.client.render.model.json.MultipartUnbakedModel;
+import net.minecraft.client.texture.Sprite;
+import net.minecraft.client.util.SpriteIdentifier;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import net.shadew.ndebris.client.model.SharedMultipartBakedModel;
+
+@Mixin(ModelLoader.class)
+public class SharedMultipartMixin {
+    @Unique
+    private final Map<UnbakedModel, BakedModel> sharedMultiparts = new IdentityHashMap<>();
+
+    // All states of a multipart block share one unbaked model, but the loader bakes it again for every state. The shared
+    // multipart works out which parts apply to a state on first use, so one instance serves all states. This replaces
+    // the bake call on a bake cache miss, so the unbaked model is at hand and the result still goes into the cache.
+    @Redirect(
+        method = "bake",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/client/render/model/UnbakedModel;bake(Lnet/minecraft/client/render/model/ModelLoader;Ljava/util/function/Function;Lnet/minecraft/client/render/model/ModelBakeSettings;Lnet/minecraft/util/Identifier;)Lnet/minecraft/client/render/model/BakedModel;"
+        )
+    )
+    private BakedModel bakeSharedMultipart(UnbakedModel unbaked, ModelLoader loader, Function<SpriteIdentifier, Sprite> textureGetter, ModelBakeSettings settings, Identifier id) {
+        if (!(unbaked instanceof MultipartUnbakedModel) || !id.getNamespace().equals("ndebris")) {
+            return unbaked.bake(loader, textureGetter, settings, id);
+        }
+
+        BakedModel shared = sharedMultiparts.get(unbaked);
+        if (shared == null) {
+            BakedModel model = unbaked.bake(loader, textureGetter, settings, id);
+            if (model instanceof MultipartBakedModel) {
+                Block block = Registry.BLOCK.get(new Identifier(id.getNamespace(), id.getPath()));
+                shared = new SharedMultipartBakedModel((MultipartBakedModel) model, block);
+            } else {
+                shared = model;
+            }
+            sharedMultiparts.put(unbaked, shared);
+        }
+        return shared;
+    }
+}
@@ -0,0 +1,29 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.server.ServerNetworkIo;
+import net.minecraft.server.dedicated.MinecraftDedicatedServer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+import net.shadew.ndebris.server.soak.PathingBenchmark;
+import net.shadew.ndebris.server.soak.SoakBenchmark;
+
+@Mixin(MinecraftDedicatedServer.class)
+public class SoakNetworkMixin {
+    @Redirect(
+        method = "setupServer",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/server/ServerNetworkIo;bind(Ljava/net/InetAddress;I)V"
+        )
+    )
+    private void skipBindWhenSoaking(ServerNetworkIo io, InetAddress address, int port) throws IOException {
+        if (!SoakBenchmark.isEnabled() && !PathingBenchmark.isEnabled()) {
+            io.bind(address, port);
+        }
+    }
+}
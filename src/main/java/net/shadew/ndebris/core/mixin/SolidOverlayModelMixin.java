@@ -0,0 +1,22 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.client.render.model.BakedModel;
+import net.minecraft.client.render.model.ModelBakeSettings;
+import net.minecraft.client.render.model.ModelLoader;
+import net.minecraft.util.Identifier;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyVariable;
+
+import net.shadew.ndebris.client.model.SolidOverlayBakedModel;
+
+@Mixin(ModelLoader.class)
+public class SolidOverlayModelMixin {
+    @ModifyVariable(
+        method = "bake",
+        at = @At(value = "STORE")
+    )
+    private BakedModel wrapSolidOverlay(BakedModel model, Identifier id, ModelBakeSettings settings) {
+        return model == null ? null : SolidOverlayBakedModel.wrap(id, model);
+    }
+}
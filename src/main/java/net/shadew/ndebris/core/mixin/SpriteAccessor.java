@@ -0,0 +1,12 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.Sprite;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+@Mixin(Sprite.class)
+public interface SpriteAccessor {
+    @Accessor("images")
+    NativeImage[] getImages();
+}
@@ -0,0 +1,25 @@
+package net.shadew.ndebris.core.mixin;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraft.state.State;
+import net.minecraft.state.StateManager;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.shadew.ndebris.core.blocks.IndexedState;
+
+@Mixin(StateManager.class)
+public class StateManagerMixin<O, S extends State<O, S>> {
+    @Shadow
+    @Final
+    private ImmutableList<S> states;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void indexStates(CallbackInfo info) {
+        IndexedState.assignIndices(states);
+    }
+}
@@ -0,0 +1,97 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.structure.Structure;
+import net.minecraft.structure.StructurePlacementData;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.ServerWorldAccess;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.util.List;
+import java.util.Random;
+
+import net.shadew.ndebris.common.block.StepBlock;
+import net.shadew.ndebris.common.block.StepConnections;
+
+@Mixin(Structure.class)
+public abstract class StructureStepsMixin {
+    @Shadow
+    @Final
+    private List<Structure.PalettedBlockInfoList> blockInfoLists;
+
+    // Whether any palette has steps: 0 when not known yet, 1 when not, 2 when it has. Structures are placed from
+    // several world generation threads, which at worst compute this more than once.
+    @Unique
+    private volatile byte ndebris_hasSteps;
+
+    @Shadow
+    public abstract BlockBox calculateBoundingBox(StructurePlacementData placementData, BlockPos pos);
+
+    @Inject(method = "place", at = @At("HEAD"))
+    private void deferSteps(ServerWorldAccess world, BlockPos pos, BlockPos pivot, StructurePlacementData placementData, Random random, int flags, CallbackInfoReturnable<Boolean> info) {
+        if (!ndebris_hasSteps()) {
+            return;
+        }
+
+        BlockBox box = calculateBoundingBox(placementData, pos);
+        BlockBox limit = placementData.getBoundingBox();
+        if (limit != null) {
+            if (!box.intersects(limit)) {
+                return;
+            }
+            box = new BlockBox(
+                Math.max(box.minX, limit.minX), Math.max(box.minY, limit.minY), Math.max(box.minZ, limit.minZ),
+                Math.min(box.maxX, limit.maxX), Math.min(box.maxY, limit.maxY), Math.min(box.maxZ, limit.maxZ)
+            );
+        }
+        StepConnections.deferIn(box);
+    }
+
+    @Inject(method = "place", at = @At("RETURN"))
+    private void resolveSteps(ServerWorldAccess world, BlockPos pos, BlockPos pivot, StructurePlacementData placementData, Random random, int flags, CallbackInfoReturnable<Boolean> info) {
+        BlockBox box = StepConnections.getDeferred();
+        if (box == null) {
+            return;
+        }
+
+        StepConnections.endDeferral();
+        if (info.getReturnValueZ()) {
+            StepConnections.resolve(world, box);
+        }
+    }
+
+    @Inject(method = {"saveFromWorld", "fromTag"}, at = @At("HEAD"))
+    private void resetHasSteps(CallbackInfo info) {
+        ndebris_hasSteps = 0;
+    }
+
+    // Palettes are checked without picking one, picking would consume the placement's random
+    @Unique
+    private boolean ndebris_hasSteps() {
+        byte known = ndebris_hasSteps;
+        if (known != 0) {
+            return known == 2;
+        }
+
+        boolean hasSteps = false;
+        search:
+        for (Structure.PalettedBlockInfoList list : blockInfoLists) {
+            for (Structure.StructureBlockInfo info : list.getAll()) {
+                if (info.state.getBlock() instanceof StepBlock) {
+                    hasSteps = true;
+                    break search;
+                }
+            }
+        }
+        ndebris_hasSteps = (byte) (hasSteps ? 2 : 1);
+        return hasSteps;
+    }
+}
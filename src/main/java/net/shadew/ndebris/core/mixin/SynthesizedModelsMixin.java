@@ -0,0 +1,23 @@
+package net.shadew.ndebris.core.mixin;
+
+import net.minecraft.client.render.model.ModelLoader;
+import net.minecraft.client.render.model.SpriteAtlasManager;
+import net.minecraft.client.texture.TextureManager;
+import net.minecraft.util.profiler.Profiler;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import net.shadew.ndebris.client.model.SynthesizedModelProvider;
+
+@Mixin(ModelLoader.class)
+public class SynthesizedModelsMixin {
+    @Inject(
+        method = "upload",
+        at = @At(value = "TAIL")
+    )
+    private void releaseSynthesizedModels(TextureManager textureManager, Profiler profiler, CallbackInfoReturnable<SpriteAtlasManager> info) {
+        SynthesizedModelProvider.finishLoad();
+    }
+}
@@ -0,0 +1,6 @@
+package net.shadew.ndebris.core.profiling;
+
+@FunctionalInterface
+public interface DataProviderListener {
+    void onProviderRun(String provider, long nanos, int written, int skipped);
+}
@@ -0,0 +1,25 @@
+package net.shadew.ndebris.core.profiling;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class DataProviderProbe {
+    private static final List<DataProviderListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    public static void addListener(DataProviderListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(DataProviderListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    public static void providerRun(String provider, long nanos, int written, int skipped) {
+        for (DataProviderListener listener : LISTENERS) {
+            listener.onProviderRun(provider, nanos, written, skipped);
+        }
+    }
+
+    private DataProviderProbe() {
+    }
+}
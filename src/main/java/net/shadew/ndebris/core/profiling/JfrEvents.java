@@ -0,0 +1,212 @@
+package net.shadew.ndebris.core.profiling;
+
+import net.minecraft.block.Block;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.registry.Registry;
+import net.minecraft.util.registry.RegistryKey;
+import net.minecraft.world.World;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Publishes block ticks and data provider runs as Java Flight Recorder events. We compile against Java 8, which has no
+ * JFR API, so event types are defined at runtime through {@code jdk.jfr.EventFactory} (Java 11+) and are accessed
+ * through method handles resolved once at install. Ticks are only measured while a recording is running, and events
+ * are only filled in when their type is enabled in it. On older runtimes nothing is installed.
+ */
+public final class JfrEvents {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final String CATEGORY = "Nature's Debris";
+    private static boolean installed;
+
+    private final Class<?> recorderClass;
+    private final MethodHandle newTick;
+    private final MethodHandle newProviderRun;
+    private final MethodHandle shouldCommit;
+    private final MethodHandle set;
+    private final MethodHandle commit;
+
+    private final TickListener tickListener = this::onTick;
+    private boolean listening;
+
+    private JfrEvents() throws ReflectiveOperationException {
+        Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+        Class<?> eventClass = Class.forName("jdk.jfr.Event");
+        Method create = factoryClass.getMethod("create", List.class, List.class);
+
+        recorderClass = Class.forName("jdk.jfr.FlightRecorder");
+
+        // Handles are adapted to Object receivers so they can be invoked exactly without the event class at compile time
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        MethodHandle newEvent = lookup.unreflect(factoryClass.getMethod("newEvent"))
+                                      .asType(MethodType.methodType(Object.class, Object.class));
+        shouldCommit = lookup.unreflect(eventClass.getMethod("shouldCommit"))
+                             .asType(MethodType.methodType(boolean.class, Object.class));
+        set = lookup.unreflect(eventClass.getMethod("set", int.class, Object.class))
+                    .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+        commit = lookup.unreflect(eventClass.getMethod("commit"))
+                       .asType(MethodType.methodType(void.class, Object.class));
+
+        Object tickFactory = create.invoke(null, eventAnnotations("net.shadew.ndebris.BlockTick", "Block Tick"), Arrays.asList(
+            field(String.class, "block", "Block"),
+            field(String.class, "dimension", "Dimension"),
+            field(int.class, "x", "X"),
+            field(int.class, "y", "Y"),
+            field(int.class, "z", "Z"),
+            timespanField("tickTime", "Tick Time"),
+            field(int.class, "scanned", "Positions Scanned"),
+            field(int.class, "conversions", "Conversions")
+        ));
+        Object providerFactory = create.invoke(null, eventAnnotations("net.shadew.ndebris.DataProvider", "Data Provider"), Arrays.asList(
+            field(String.class, "provider", "Provider"),
+            timespanField("runTime", "Run Time"),
+            field(int.class, "written", "Files Written"),
+            field(int.class, "skipped", "Files Skipped")
+        ));
+
+        newTick = newEvent.bindTo(tickFactory);
+        newProviderRun = newEvent.bindTo(providerFactory);
+    }
+
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        installed = true;
+
+        try {
+            JfrEvents events = new JfrEvents();
+            events.listen();
+            DataProviderProbe.addListener(events::onProviderRun);
+            LOGGER.debug("Registered Flight Recorder events");
+        } catch (ReflectiveOperationException | LinkageError exc) {
+            LOGGER.debug("Flight Recorder events are unavailable on this runtime", exc);
+        }
+    }
+
+    private void listen() throws ReflectiveOperationException {
+        Class<?> listenerClass = Class.forName("jdk.jfr.FlightRecorderListener");
+        Object listener = Proxy.newProxyInstance(
+            JfrEvents.class.getClassLoader(),
+            new Class<?>[] {listenerClass},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "recordingStateChanged":
+                        updateRecordingState();
+                        return null;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "Nature's Debris recording listener";
+                    default:
+                        return null;
+                }
+            }
+        );
+        recorderClass.getMethod("addListener", listenerClass).invoke(null, listener);
+
+        // Only look for running recordings if JFR is running already, asking for the recorder would start it
+        if ((Boolean) recorderClass.getMethod("isInitialized").invoke(null)) {
+            updateRecordingState();
+        }
+    }
+
+    private synchronized void updateRecordingState() throws ReflectiveOperationException {
+        Object recorder = recorderClass.getMethod("getFlightRecorder").invoke(null);
+        List<?> recordings = (List<?>) recorderClass.getMethod("getRecordings").invoke(recorder);
+
+        boolean running = false;
+        for (Object recording : recordings) {
+            Object state = recording.getClass().getMethod("getState").invoke(recording);
+            if ("RUNNING".equals(String.valueOf(state))) {
+                running = true;
+                break;
+            }
+        }
+
+        if (running && !listening) {
+            TickProbe.addListener(tickListener);
+        } else if (!running && listening) {
+            TickProbe.removeListener(tickListener);
+        }
+        listening = running;
+    }
+
+    private void onTick(Block block, RegistryKey<World> dimension, long pos, long nanos, int scanned, int conversions) {
+        try {
+            Object event = (Object) newTick.invokeExact();
+            if (!(boolean) shouldCommit.invokeExact(event)) {
+                return;
+            }
+            set.invokeExact(event, 0, (Object) Registry.BLOCK.getId(block).toString());
+            set.invokeExact(event, 1, (Object) dimension.getValue().toString());
+            set.invokeExact(event, 2, (Object) BlockPos.unpackLongX(pos));
+            set.invokeExact(event, 3, (Object) BlockPos.unpackLongY(pos));
+            set.invokeExact(event, 4, (Object) BlockPos.unpackLongZ(pos));
+            set.invokeExact(event, 5, (Object) nanos);
+            set.invokeExact(event, 6, (Object) scanned);
+            set.invokeExact(event, 7, (Object) conversions);
+            commit.invokeExact(event);
+        } catch (Throwable exc) {
+            LOGGER.warn("Failed to commit Flight Recorder event", exc);
+        }
+    }
+
+    private void onProviderRun(String provider, long nanos, int written, int skipped) {
+        try {
+            Object event = (Object) newProviderRun.invokeExact();
+            if (!(boolean) shouldCommit.invokeExact(event)) {
+                return;
+            }
+            set.invokeExact(event, 0, (Object) provider);
+            set.invokeExact(event, 1, (Object) nanos);
+            set.invokeExact(event, 2, (Object) written);
+            set.invokeExact(event, 3, (Object) skipped);
+            commit.invokeExact(event);
+        } catch (Throwable exc) {
+            LOGGER.warn("Failed to commit Flight Recorder event", exc);
+        }
+    }
+
+    private static List<Object> eventAnnotations(String name, String label) throws ReflectiveOperationException {
+        return Arrays.asList(
+            annotation("jdk.jfr.Name", name),
+            annotation("jdk.jfr.Label", label),
+            annotation("jdk.jfr.Category", new String[] {CATEGORY})
+        );
+    }
+
+    private static Object field(Class<?> type, String name, String label) throws ReflectiveOperationException {
+        return valueDescriptor(type, name, Collections.singletonList(annotation("jdk.jfr.Label", label)));
+    }
+
+    private static Object timespanField(String name, String label) throws ReflectiveOperationException {
+        List<Object> annotations = new ArrayList<>();
+        annotations.add(annotation("jdk.jfr.Label", label));
+        annotations.add(annotation("jdk.jfr.Timespan", "NANOSECONDS"));
+        return valueDescriptor(long.class, name, annotations);
+    }
+
+    private static Object valueDescriptor(Class<?> type, String name, List<Object> annotations) throws ReflectiveOperationException {
+        Constructor<?> ctor = Class.forName("jdk.jfr.ValueDescriptor").getConstructor(Class.class, String.class, List.class);
+        return ctor.newInstance(type, name, annotations);
+    }
+
+    private static Object annotation(String type, Object value) throws ReflectiveOperationException {
+        Constructor<?> ctor = Class.forName("jdk.jfr.AnnotationElement").getConstructor(Class.class, Object.class);
+        return ctor.newInstance(Class.forName(type), value);
+    }
+}
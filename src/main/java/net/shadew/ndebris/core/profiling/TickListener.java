@@ -0,0 +1,10 @@
+package net.shadew.ndebris.core.profiling;
+
+import net.minecraft.block.Block;
+import net.minecraft.util.registry.RegistryKey;
+import net.minecraft.world.World;
+
+@FunctionalInterface
+public interface TickListener {
+    void onTick(Block block, RegistryKey<World> dimension, long pos, long nanos, int scanned, int conversions);
+}
@@ -0,0 +1,81 @@
+package net.shadew.ndebris.core.profiling;
+
+import net.minecraft.block.Block;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.registry.RegistryKey;
+import net.minecraft.world.World;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Measures block ticks of Nature's Debris for whoever listens. Block ticks only run on the server thread, so the sample
+ * in progress is kept in static fields. Without listeners, {@link #begin} is a single volatile read and all other calls
+ * return immediately.
+ */
+public final class TickProbe {
+    private static final List<TickListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static volatile boolean active;
+
+    private static int depth;
+    private static Block block;
+    private static RegistryKey<World> dimension;
+    private static long pos;
+    private static long start;
+    private static int scanned;
+    private static int conversions;
+
+    public static void addListener(TickListener listener) {
+        LISTENERS.add(listener);
+        active = true;
+    }
+
+    public static void removeListener(TickListener listener) {
+        LISTENERS.remove(listener);
+        active = !LISTENERS.isEmpty();
+    }
+
+    /**
+     * Starts measuring a tick. Returns true when measuring, in which case the caller must call {@link #end}.
+     */
+    public static boolean begin(Block block, World world, BlockPos pos) {
+        if (!active) {
+            return false;
+        }
+        if (depth++ == 0) {
+            TickProbe.block = block;
+            TickProbe.dimension = world.getRegistryKey();
+            TickProbe.pos = pos.asLong();
+            TickProbe.scanned = 0;
+            TickProbe.conversions = 0;
+            TickProbe.start = System.nanoTime();
+        }
+        return true;
+    }
+
+    public static void scanned(int count) {
+        if (depth > 0) {
+            scanned += count;
+        }
+    }
+
+    public static void converted() {
+        if (depth > 0) {
+            conversions++;
+        }
+    }
+
+    public static void end() {
+        if (--depth == 0) {
+            long nanos = System.nanoTime() - start;
+            for (TickListener listener : LISTENERS) {
+                listener.onTick(block, dimension, pos, nanos, scanned, conversions);
+            }
+            block = null;
+            dimension = null;
+        }
+    }
+
+    private TickProbe() {
+    }
+}
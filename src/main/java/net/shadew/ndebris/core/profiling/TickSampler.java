@@ -0,0 +1,198 @@
+package net.shadew.ndebris.core.profiling;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.registry.RegistryKey;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Collects tick statistics per block type and per chunk from the {@link TickProbe}. Chunks are kept per dimension. Tick costs are kept in a
+ * logarithmic histogram with eight buckets per power of two, so percentiles are accurate to within 12.5%.
+ */
+public class TickSampler implements TickListener {
+    private static final int SUB_BUCKETS = 8;
+    private static final int BUCKETS = 61 * SUB_BUCKETS;
+
+    private final Reference2ObjectMap<Block, BlockStats> blocks = new Reference2ObjectOpenHashMap<>();
+    private final Reference2ObjectMap<RegistryKey<World>, ChunkTotals> chunks = new Reference2ObjectOpenHashMap<>();
+    private final long startTime = System.nanoTime();
+    private long stopTime = -1;
+
+    @Override
+    public void onTick(Block block, RegistryKey<World> dimension, long pos, long nanos, int scanned, int conversions) {
+        blocks.computeIfAbsent(block, BlockStats::new).add(nanos, scanned, conversions);
+
+        ChunkTotals totals = chunks.computeIfAbsent(dimension, k -> new ChunkTotals());
+        long chunk = ChunkPos.toLong(BlockPos.unpackLongX(pos) >> 4, BlockPos.unpackLongZ(pos) >> 4);
+        totals.nanos.addTo(chunk, nanos);
+        if (conversions > 0) {
+            totals.conversions.addTo(chunk, conversions);
+        }
+    }
+
+    public void stop() {
+        if (stopTime < 0) {
+            stopTime = System.nanoTime();
+        }
+    }
+
+    public long getSampledNanos() {
+        return (stopTime < 0 ? System.nanoTime() : stopTime) - startTime;
+    }
+
+    public List<BlockStats> getBlockStats() {
+        List<BlockStats> stats = new ArrayList<>(blocks.values());
+        stats.sort(Comparator.comparingLong(BlockStats::getTotalNanos).reversed());
+        return stats;
+    }
+
+    public List<ChunkStats> getHottestChunks(int limit) {
+        List<ChunkStats> stats = new ArrayList<>(getChunkCount());
+        for (Reference2ObjectMap.Entry<RegistryKey<World>, ChunkTotals> dimension : chunks.reference2ObjectEntrySet()) {
+            ChunkTotals totals = dimension.getValue();
+            for (Long2LongMap.Entry entry : totals.nanos.long2LongEntrySet()) {
+                long chunk = entry.getLongKey();
+                stats.add(new ChunkStats(
+                    dimension.getKey(), new ChunkPos(chunk), entry.getLongValue(), totals.conversions.get(chunk)
+                ));
+            }
+        }
+        stats.sort(Comparator.comparingLong(ChunkStats::getTotalNanos).reversed());
+        return stats.size() > limit ? stats.subList(0, limit) : stats;
+    }
+
+    public int getChunkCount() {
+        int count = 0;
+        for (ChunkTotals totals : chunks.values()) {
+            count += totals.nanos.size();
+        }
+        return count;
+    }
+
+    public int getConvertingChunkCount() {
+        int count = 0;
+        for (ChunkTotals totals : chunks.values()) {
+            count += totals.conversions.size();
+        }
+        return count;
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(nanos, 0);
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(nanos);
+        int mantissa = (int) (nanos >>> exp - 3) & SUB_BUCKETS - 1;
+        return (exp - 2) * SUB_BUCKETS + mantissa;
+    }
+
+    private static long bucketValue(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exp = bucket / SUB_BUCKETS + 2;
+        int mantissa = bucket % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS | mantissa) << exp - 3;
+    }
+
+    public static class BlockStats {
+        private final Block block;
+        private final int[] histogram = new int[BUCKETS];
+        private long ticks;
+        private long totalNanos;
+        private long scanned;
+        private long conversions;
+
+        private BlockStats(Block block) {
+            this.block = block;
+        }
+
+        private void add(long nanos, int scanned, int conversions) {
+            histogram[bucket(nanos)]++;
+            this.ticks++;
+            this.totalNanos += nanos;
+            this.scanned += scanned;
+            this.conversions += conversions;
+        }
+
+        public Block getBlock() {
+            return block;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return ticks == 0 ? 0 : totalNanos / ticks;
+        }
+
+        public long getPercentileNanos(double percentile) {
+            long rank = (long) Math.ceil(ticks * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += histogram[i];
+                if (seen >= rank && seen > 0) {
+                    return bucketValue(i);
+                }
+            }
+            return 0;
+        }
+
+        public long getScanned() {
+            return scanned;
+        }
+
+        public long getConversions() {
+            return conversions;
+        }
+    }
+
+    private static class ChunkTotals {
+        final Long2LongOpenHashMap nanos = new Long2LongOpenHashMap();
+        final Long2LongOpenHashMap conversions = new Long2LongOpenHashMap();
+    }
+
+    public static class ChunkStats {
+        private final RegistryKey<World> dimension;
+        private final ChunkPos pos;
+        private final long totalNanos;
+        private final long conversions;
+
+        private ChunkStats(RegistryKey<World> dimension, ChunkPos pos, long totalNanos, long conversions) {
+            this.dimension = dimension;
+            this.pos = pos;
+            this.totalNanos = totalNanos;
+            this.conversions = conversions;
+        }
+
+        public RegistryKey<World> getDimension() {
+            return dimension;
+        }
+
+        public ChunkPos getPos() {
+            return pos;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getConversions() {
+            return conversions;
+        }
+    }
+}
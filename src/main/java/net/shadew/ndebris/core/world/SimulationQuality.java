@@ -0,0 +1,69 @@
+package net.shadew.ndebris.core.world;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.Random;
+
+/**
+ * Scales the amount of work soil blocks do per tick with the load of the server. Once per second the average tick time
+ * of the server is compared against two thresholds: above the upper one the quality level goes down one step, below
+ * the lower one it goes up one step. The highest level is the full simulation.
+ * <p>
+ * Lower levels only do part of the work: grass makes fewer spread attempts per tick and humus skips part of its scans
+ * for leaves. How far grass spreads and how high humus looks for leaves stay the same, so a lower level makes
+ * conversions happen less often without changing which blocks convert.
+ */
+public final class SimulationQuality {
+    private static final int[] GRASS_SPREAD_ATTEMPTS = {1, 2, 3, 4};
+    // Out of every four humus ticks, this many scan for leaves
+    private static final int[] HUMUS_SCANS = {1, 2, 3, 4};
+    static final int MAX_LEVEL = GRASS_SPREAD_ATTEMPTS.length - 1;
+
+    private static final float DEGRADE_MSPT = 45;
+    private static final float RESTORE_MSPT = 35;
+    private static final int UPDATE_INTERVAL = 20;
+
+    private static int level = MAX_LEVEL;
+    private static int ticks;
+
+    public static void register() {
+        ServerTickEvents.END_SERVER_TICK.register(SimulationQuality::update);
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> level = MAX_LEVEL);
+    }
+
+    private static void update(MinecraftServer server) {
+        if (++ticks < UPDATE_INTERVAL) {
+            return;
+        }
+        ticks = 0;
+
+        float mspt = server.getTickTime();
+        if (mspt > DEGRADE_MSPT && level > 0) {
+            level--;
+        } else if (mspt < RESTORE_MSPT && level < MAX_LEVEL) {
+            level++;
+        }
+    }
+
+    public static int getLevel() {
+        return level;
+    }
+
+    public static boolean shouldScanHumus(Random rand) {
+        // The full simulation scans every tick and leaves the random untouched, like before
+        return level == MAX_LEVEL || rand.nextInt(4) < HUMUS_SCANS[level];
+    }
+
+    public static int getGrassSpreadAttempts() {
+        return GRASS_SPREAD_ATTEMPTS[level];
+    }
+
+    static void setLevel(int level) {
+        SimulationQuality.level = level;
+    }
+
+    private SimulationQuality() {
+    }
+}
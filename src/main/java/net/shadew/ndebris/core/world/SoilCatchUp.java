@@ -0,0 +1,274 @@
+package net.shadew.ndebris.core.world;
+
+import it.unimi.dsi.fastutil.longs.Long2LongLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.GameRules;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.WeakHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Catches up on the random ticks soil blocks missed while their chunk was unloaded. The game time at which a chunk
+ * unloads is stored per world, for chunks that contain soil. When the chunk loads again and its neighbours are loaded
+ * too, so that spreading can reach across the border, every soil block in it receives a Poisson distributed number of
+ * random ticks with the mean it would have received in the meantime, capped at {@link #MAX_TICKS_PER_BLOCK}.
+ * <p>
+ * Catch-up work counts against the {@link SoilTickGovernor} budget. It runs one layer of blocks at a time at the end of
+ * the world tick, as long as the budget has room, and continues in later ticks. Unload times older than
+ * {@link #MAX_AGE} are forgotten, as are the oldest ones beyond {@link #MAX_ENTRIES}; those chunks load without
+ * catching up.
+ */
+public final class SoilCatchUp {
+    private static final String ID = "ndebris_soil_catch_up";
+    private static final int MAX_TICKS_PER_BLOCK = 16;
+    private static final long MAX_AGE = 30 * 24000;
+    private static final int MAX_ENTRIES = 65536;
+    private static final int LAYERS = 16 * 16;
+
+    private static final Map<ServerWorld, Long2ObjectLinkedOpenHashMap<Pending>> PENDING = new WeakHashMap<>();
+    private static Predicate<BlockState> soil = state -> false;
+
+    public static void register(Predicate<BlockState> soil) {
+        SoilCatchUp.soil = soil;
+        ServerChunkEvents.CHUNK_UNLOAD.register(SoilCatchUp::onUnload);
+        ServerChunkEvents.CHUNK_LOAD.register(SoilCatchUp::onLoad);
+        ServerTickEvents.END_WORLD_TICK.register(SoilCatchUp::tick);
+    }
+
+    private static UnloadTimes times(ServerWorld world) {
+        return world.getPersistentStateManager().getOrCreate(UnloadTimes::new, ID);
+    }
+
+    private static Long2ObjectLinkedOpenHashMap<Pending> pending(ServerWorld world) {
+        return PENDING.computeIfAbsent(world, w -> new Long2ObjectLinkedOpenHashMap<>());
+    }
+
+    private static void onUnload(ServerWorld world, WorldChunk chunk) {
+        long pos = chunk.getPos().toLong();
+
+        // A chunk that unloads before it started catching up keeps its original unload time
+        Pending pending = pending(world).remove(pos);
+        if (pending != null && !pending.isStarted()) {
+            return;
+        }
+        if (hasSoil(chunk)) {
+            times(world).put(pos, world.getTime());
+        }
+    }
+
+    private static void onLoad(ServerWorld world, WorldChunk chunk) {
+        long pos = chunk.getPos().toLong();
+        if (times(world).contains(pos)) {
+            pending(world).put(pos, new Pending());
+        }
+    }
+
+    private static boolean hasSoil(WorldChunk chunk) {
+        for (ChunkSection section : chunk.getSectionArray()) {
+            if (hasSoil(section)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Checks the palette only, so sections with a global palette count as having soil
+    private static boolean hasSoil(ChunkSection section) {
+        return !ChunkSection.isEmpty(section) && section.hasRandomTicks() && section.getContainer().hasAny(soil);
+    }
+
+    private static void tick(ServerWorld world) {
+        Long2ObjectLinkedOpenHashMap<Pending> pending = PENDING.get(world);
+        UnloadTimes times = times(world);
+        times.expire(world.getTime());
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+
+        LongIterator itr = pending.keySet().iterator();
+        while (itr.hasNext() && SoilTickGovernor.hasBudget(world)) {
+            long pos = itr.nextLong();
+            int x = ChunkPos.getPackedX(pos);
+            int z = ChunkPos.getPackedZ(pos);
+            if (!areNeighboursLoaded(world, x, z)) {
+                continue;
+            }
+
+            Pending chunkPending = pending.get(pos);
+            if (!chunkPending.isStarted()) {
+                if (!times.contains(pos)) {
+                    // Expired while waiting for its neighbours
+                    itr.remove();
+                    continue;
+                }
+                chunkPending.start(world, world.getTime() - times.remove(pos));
+            }
+
+            WorldChunk chunk = world.getChunk(x, z);
+            SoilTickGovernor.runBatch(() -> catchUp(world, chunk, chunkPending));
+            if (chunkPending.layer == LAYERS) {
+                itr.remove();
+            }
+        }
+    }
+
+    private static boolean areNeighboursLoaded(ServerWorld world, int x, int z) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                if (!world.getChunkManager().isChunkLoaded(x + dx, z + dz)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static void catchUp(ServerWorld world, WorldChunk chunk, Pending pending) {
+        if (pending.mean <= 0) {
+            pending.layer = LAYERS;
+            return;
+        }
+
+        Random rand = world.random;
+        ChunkSection[] sections = chunk.getSectionArray();
+        int startX = chunk.getPos().getStartX();
+        int startZ = chunk.getPos().getStartZ();
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        while (pending.layer < LAYERS && SoilTickGovernor.hasBudget(world)) {
+            ChunkSection section = sections[pending.layer >> 4];
+            if (!hasSoil(section)) {
+                pending.layer = (pending.layer | 15) + 1;
+                continue;
+            }
+
+            int y = pending.layer & 15;
+            int startY = section.getYOffset();
+            for (int z = 0; z < 16; z++) {
+                for (int x = 0; x < 16; x++) {
+                    if (!soil.test(section.getBlockState(x, y, z))) {
+                        continue;
+                    }
+
+                    pos.set(startX + x, startY + y, startZ + z);
+                    int ticks = samplePoisson(rand, pending.mean);
+                    for (int i = 0; i < ticks; i++) {
+                        BlockState state = world.getBlockState(pos);
+                        if (!soil.test(state)) {
+                            break;
+                        }
+                        state.randomTick(world, pos.toImmutable(), rand);
+                    }
+                }
+            }
+            pending.layer++;
+        }
+    }
+
+    private static int samplePoisson(Random rand, double mean) {
+        // Beyond this mean, falling short of the cap is too unlikely to bother sampling
+        if (mean > MAX_TICKS_PER_BLOCK * 2) {
+            return MAX_TICKS_PER_BLOCK;
+        }
+
+        double limit = Math.exp(-mean);
+        double product = rand.nextDouble();
+        int count = 0;
+        while (product > limit && count < MAX_TICKS_PER_BLOCK) {
+            product *= rand.nextDouble();
+            count++;
+        }
+        return count;
+    }
+
+    private static final class Pending {
+        double mean = -1;
+        int layer;
+
+        boolean isStarted() {
+            return mean >= 0;
+        }
+
+        void start(ServerWorld world, long elapsed) {
+            int tickSpeed = world.getGameRules().getInt(GameRules.RANDOM_TICK_SPEED);
+            mean = Math.max((double) elapsed * tickSpeed / 4096, 0);
+        }
+    }
+
+    private static final class UnloadTimes extends PersistentState {
+        // In order of unloading, so the oldest entries come first
+        private final Long2LongLinkedOpenHashMap times = new Long2LongLinkedOpenHashMap();
+
+        UnloadTimes() {
+            super(ID);
+        }
+
+        boolean contains(long pos) {
+            return times.containsKey(pos);
+        }
+
+        void put(long pos, long time) {
+            times.putAndMoveToLast(pos, time);
+            markDirty();
+        }
+
+        long remove(long pos) {
+            long time = times.remove(pos);
+            markDirty();
+            return time;
+        }
+
+        void expire(long now) {
+            boolean expired = false;
+            while (!times.isEmpty() && (times.size() > MAX_ENTRIES || now - times.get(times.firstLongKey()) > MAX_AGE)) {
+                times.removeFirstLong();
+                expired = true;
+            }
+            if (expired) {
+                markDirty();
+            }
+        }
+
+        @Override
+        public void fromTag(CompoundTag tag) {
+            long[] chunks = tag.getLongArray("Chunks");
+            long[] unloadTimes = tag.getLongArray("Times");
+            times.clear();
+            for (int i = 0, l = Math.min(chunks.length, unloadTimes.length); i < l; i++) {
+                times.put(chunks[i], unloadTimes[i]);
+            }
+        }
+
+        @Override
+        public CompoundTag toTag(CompoundTag tag) {
+            long[] chunks = new long[times.size()];
+            long[] unloadTimes = new long[times.size()];
+            int i = 0;
+            for (Long2LongMap.Entry entry : times.long2LongEntrySet()) {
+                chunks[i] = entry.getLongKey();
+                unloadTimes[i] = entry.getLongValue();
+                i++;
+            }
+            tag.putLongArray("Chunks", chunks);
+            tag.putLongArray("Times", unloadTimes);
+            return tag;
+        }
+    }
+
+    private SoilCatchUp() {
+    }
+}
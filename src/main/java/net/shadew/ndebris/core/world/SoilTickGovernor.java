@@ -0,0 +1,127 @@
+package net.shadew.ndebris.core.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ReferenceLinkedOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.shadew.ndebris.core.metrics.NdCounter;
+
+/**
+ * Caps the time spent in soil ticks per world per server tick. A tick that arrives when the budget is used up is
+ * deferred to a FIFO queue, which is drained at the end of later world ticks as far as the budget allows. The budget is
+ * set in microseconds by the {@code ndebris.soil.budget} system property. Soil ticks are random, so when the queue is
+ * full a deferred tick is simply dropped, which is no different from the tick not being selected.
+ */
+public final class SoilTickGovernor {
+    private static final long BUDGET_NANOS = Long.getLong("ndebris.soil.budget", 1000) * 1000;
+    private static final int QUEUE_CAPACITY = 8192;
+
+    private static final Map<ServerWorld, Budget> BUDGETS = new WeakHashMap<>();
+    private static final BlockPos.Mutable DRAIN_POS = new BlockPos.Mutable();
+    private static boolean bypass;
+
+    public static void register() {
+        ServerTickEvents.END_WORLD_TICK.register(SoilTickGovernor::drain);
+    }
+
+    /**
+     * Returns true when the soil tick at the given position may run now, in which case the caller must report its cost
+     * through {@link #charge}. Otherwise the tick has been deferred or dropped.
+     */
+    public static boolean admit(ServerWorld world, BlockPos pos, Block block) {
+        if (bypass) {
+            return true;
+        }
+
+        Budget budget = budget(world);
+        if (budget.spent < BUDGET_NANOS) {
+            return true;
+        }
+
+        if (budget.deferred.size() >= QUEUE_CAPACITY) {
+            NdCounter.SOIL_TICKS_DROPPED.increment();
+        } else if (budget.deferred.putIfAbsent(pos.asLong(), block) == null) {
+            NdCounter.SOIL_TICKS_DEFERRED.increment();
+        }
+        return false;
+    }
+
+    public static void charge(ServerWorld world, long nanos) {
+        budget(world).spent += nanos;
+    }
+
+    private static Budget budget(ServerWorld world) {
+        Budget budget = BUDGETS.computeIfAbsent(world, w -> new Budget());
+        long time = world.getTime();
+        if (budget.time != time) {
+            budget.time = time;
+            budget.spent = 0;
+        }
+        return budget;
+    }
+
+    private static void drain(ServerWorld world) {
+        Budget budget = BUDGETS.get(world);
+        if (budget == null || budget.deferred.isEmpty()) {
+            return;
+        }
+
+        budget = budget(world);
+        bypass = true;
+        try {
+            while (budget.spent < BUDGET_NANOS && !budget.deferred.isEmpty()) {
+                long pos = budget.deferred.firstLongKey();
+                Block block = budget.deferred.removeFirst();
+
+                DRAIN_POS.set(pos);
+                if (!world.isChunkLoaded(DRAIN_POS)) {
+                    continue;
+                }
+
+                BlockState state = world.getBlockState(DRAIN_POS);
+                if (state.getBlock() == block && state.hasRandomTicks()) {
+                    state.scheduledTick(world, DRAIN_POS.toImmutable(), world.random);
+                }
+            }
+        } finally {
+            bypass = false;
+        }
+    }
+
+    /**
+     * Returns true while soil ticks in the given world still fit in the budget of the current tick.
+     */
+    public static boolean hasBudget(ServerWorld world) {
+        return budget(world).spent < BUDGET_NANOS;
+    }
+
+    /**
+     * Runs a batch of soil ticks with all of them admitted, so the batch isn't cut off halfway. The time they take is
+     * still charged to the budget, so a batch should only be started while {@link #hasBudget} holds and be small enough
+     * to overshoot the budget by little.
+     */
+    public static void runBatch(Runnable task) {
+        boolean wasBypassing = bypass;
+        bypass = true;
+        try {
+            task.run();
+        } finally {
+            bypass = wasBypassing;
+        }
+    }
+
+    private static final class Budget {
+        long time = Long.MIN_VALUE;
+        long spent;
+        final Long2ReferenceLinkedOpenHashMap<Block> deferred = new Long2ReferenceLinkedOpenHashMap<>();
+    }
+
+    private SoilTickGovernor() {
+    }
+}
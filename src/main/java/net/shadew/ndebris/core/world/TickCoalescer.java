@@ -0,0 +1,64 @@
+package net.shadew.ndebris.core.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ReferenceOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.fluid.Fluid;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.WorldAccess;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import net.shadew.ndebris.core.metrics.NdBlockCounter;
+
+/**
+ * Collapses repeated tick schedules for the same position and target within one game tick. The scheduler already
+ * ignores a tick that is pending, so dropping these changes nothing, but neighbour update storms next to redstone and
+ * pistons no longer allocate and hash a scheduled tick for every update. Only server worlds are coalesced, as they are
+ * only ever touched from the server thread. Scheduled and coalesced ticks are counted per block type in
+ * {@link NdBlockCounter}.
+ */
+public final class TickCoalescer {
+    private static final Map<WorldAccess, Window> WINDOWS = new WeakHashMap<>();
+
+    public static void scheduleBlockTick(WorldAccess world, BlockPos pos, Block source, Block target, int delay) {
+        if (!coalesce(world, pos, source, target)) {
+            world.getBlockTickScheduler().schedule(pos, target, delay);
+        }
+    }
+
+    public static void scheduleFluidTick(WorldAccess world, BlockPos pos, Block source, Fluid target, int delay) {
+        if (!coalesce(world, pos, source, target)) {
+            world.getFluidTickScheduler().schedule(pos, target, delay);
+        }
+    }
+
+    private static boolean coalesce(WorldAccess world, BlockPos pos, Block source, Object target) {
+        if (!(world instanceof ServerWorld)) {
+            return false;
+        }
+
+        Window window = WINDOWS.computeIfAbsent(world, w -> new Window());
+        long time = world.getLevelProperties().getTime();
+        if (window.time != time) {
+            window.time = time;
+            window.targets.clear();
+        }
+
+        if (window.targets.put(pos.asLong(), target) == target) {
+            NdBlockCounter.TICKS_COALESCED.increment(source);
+            return true;
+        }
+        NdBlockCounter.TICKS_SCHEDULED.increment(source);
+        return false;
+    }
+
+    private static final class Window {
+        long time = Long.MIN_VALUE;
+        final Long2ReferenceOpenHashMap<Object> targets = new Long2ReferenceOpenHashMap<>();
+    }
+
+    private TickCoalescer() {
+    }
+}
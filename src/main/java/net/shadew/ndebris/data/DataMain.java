@@ -4,6 +4,7 @@ import joptsimple.OptionParser;
 import joptsimple.OptionSet;
 import joptsimple.OptionSpec;
 import net.minecraft.data.DataGenerator;
+import net.minecraft.data.DataProvider;
 
 import java.io.IOException;
 import java.nio.file.Path;
@@ -15,9 +16,11 @@ import net.shadew.ndebris.common.NaturesDebris;
 import net.shadew.ndebris.data.loottables.NdLootTablesProvider;
 import net.shadew.ndebris.data.models.NdStateModelProvider;
 import net.shadew.ndebris.data.recipes.NdRecipeProvider;
+import net.shadew.ndebris.data.reports.NdStateReportProvider;
 import net.shadew.ndebris.data.tags.NdBlockTagsProvider;
 import net.shadew.ndebris.data.tags.NdFluidTagsProvider;
 import net.shadew.ndebris.data.tags.NdItemTagsProvider;
+import net.shadew.ndebris.data.validation.NdResourceValidator;
 
 public class DataMain {
     public static void main(String[] strings) throws IOException {
@@ -65,18 +68,31 @@ public class DataMain {
     public static DataGenerator create(Path output, Collection<Path> inputs, boolean includeClient, boolean includeServer, boolean includeDev, boolean includeReports, boolean validate) {
         DataGenerator gen = new DataGenerator(output, inputs);
         if (includeClient) {
-            gen.install(new NdStateModelProvider(gen));
+            install(gen, new NdStateModelProvider(gen));
         }
 
         if (includeServer) {
-            gen.install(new NdFluidTagsProvider(gen));
+            install(gen, new NdFluidTagsProvider(gen));
             NdBlockTagsProvider blockTags = new NdBlockTagsProvider(gen);
-            gen.install(blockTags);
-            gen.install(new NdItemTagsProvider(gen, blockTags));
-            gen.install(new NdRecipeProvider(gen));
-            gen.install(new NdLootTablesProvider(gen));
+            install(gen, blockTags);
+            install(gen, new NdItemTagsProvider(gen, blockTags));
+            install(gen, new NdRecipeProvider(gen));
+            install(gen, new NdLootTablesProvider(gen));
+        }
+
+        if (includeReports) {
+            install(gen, new NdStateReportProvider(gen));
+        }
+
+        // Validation checks the output of all other providers, so it must come last
+        if (validate) {
+            install(gen, new NdResourceValidator(gen));
         }
 
         return gen;
     }
+
+    private static void install(DataGenerator gen, DataProvider provider) {
+        gen.install(new ProfiledDataProvider(provider));
+    }
 }
@@ -0,0 +1,37 @@
+package net.shadew.ndebris.data;
+
+import net.minecraft.data.DataCache;
+import net.minecraft.data.DataProvider;
+
+import java.io.IOException;
+
+import net.shadew.ndebris.core.mixin.DataCacheAccessor;
+import net.shadew.ndebris.core.profiling.DataProviderProbe;
+
+public class ProfiledDataProvider implements DataProvider {
+    private final DataProvider provider;
+
+    public ProfiledDataProvider(DataProvider provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public void run(DataCache cache) throws IOException {
+        DataCacheAccessor accessor = (DataCacheAccessor) cache;
+        int files = accessor.getNewSha1().size();
+        int unchanged = accessor.getUnchanged();
+        long start = System.nanoTime();
+
+        provider.run(cache);
+
+        long nanos = System.nanoTime() - start;
+        int skipped = accessor.getUnchanged() - unchanged;
+        int written = accessor.getNewSha1().size() - files - skipped;
+        DataProviderProbe.providerRun(getName(), nanos, written, skipped);
+    }
+
+    @Override
+    public String getName() {
+        return provider.getName();
+    }
+}
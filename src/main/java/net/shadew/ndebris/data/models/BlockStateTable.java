@@ -295,191 +295,67 @@ public final class BlockStateTable {
     }
 
     private static StateGen wallRandomized(String name, int... weights) {
-        ModelInfo[] post = new ModelInfo[weights.length];
-        ModelInfo[] sideN = new ModelInfo[weights.length];
-        ModelInfo[] sideE = new ModelInfo[weights.length];
-        ModelInfo[] sideS = new ModelInfo[weights.length];
-        ModelInfo[] sideW = new ModelInfo[weights.length];
-        ModelInfo[] sideTallN = new ModelInfo[weights.length];
-        ModelInfo[] sideTallE = new ModelInfo[weights.length];
-        ModelInfo[] sideTallS = new ModelInfo[weights.length];
-        ModelInfo[] sideTallW = new ModelInfo[weights.length];
-
-        for (int i = 0; i < weights.length; i++) {
-            String n = name + (i == 0 ? "_wall" : "_wall_alt_" + i);
-            String tn = name + (i == 0 ? "" : "_alt_" + i);
-
-            int w = weights[i];
-            post[i] = ModelInfo.create(n + "_post", wallPost(tn)).weight(w);
-            sideN[i] = ModelInfo.create(n + "_side", wallSide(tn)).uvlock(true).rotate(0, 0).weight(w);
-            sideE[i] = ModelInfo.create(n + "_side", wallSide(tn)).uvlock(true).rotate(0, 90).weight(w);
-            sideS[i] = ModelInfo.create(n + "_side", wallSide(tn)).uvlock(true).rotate(0, 180).weight(w);
-            sideW[i] = ModelInfo.create(n + "_side", wallSide(tn)).uvlock(true).rotate(0, 270).weight(w);
-            sideTallN[i] = ModelInfo.create(n + "_side_tall", wallSideTall(tn)).uvlock(true).rotate(0, 0).weight(w);
-            sideTallE[i] = ModelInfo.create(n + "_side_tall", wallSideTall(tn)).uvlock(true).rotate(0, 90).weight(w);
-            sideTallS[i] = ModelInfo.create(n + "_side_tall", wallSideTall(tn)).uvlock(true).rotate(0, 180).weight(w);
-            sideTallW[i] = ModelInfo.create(n + "_side_tall", wallSideTall(tn)).uvlock(true).rotate(0, 270).weight(w);
-        }
+        String n = name + "_wall";
+        ModelGen post = wallPost(name).alternates(weights);
+        ModelGen side = wallSide(name).alternates(weights);
+        ModelGen sideTall = wallSideTall(name).alternates(weights);
 
         return MultipartBlockStateGen.multipart()
-                                     .part(Selector.and().condition("up", "true"), post)
-                                     .part(Selector.and().condition("north", "low"), sideN)
-                                     .part(Selector.and().condition("east", "low"), sideE)
-                                     .part(Selector.and().condition("south", "low"), sideS)
-                                     .part(Selector.and().condition("west", "low"), sideW)
-                                     .part(Selector.and().condition("north", "tall"), sideTallN)
-                                     .part(Selector.and().condition("east", "tall"), sideTallE)
-                                     .part(Selector.and().condition("south", "tall"), sideTallS)
-                                     .part(Selector.and().condition("west", "tall"), sideTallW);
+                                     .part(Selector.and().condition("up", "true"), ModelInfo.create(n + "_post", post))
+                                     .part(Selector.and().condition("north", "low"), ModelInfo.create(n + "_side", side).uvlock(true).rotate(0, 0))
+                                     .part(Selector.and().condition("east", "low"), ModelInfo.create(n + "_side").uvlock(true).rotate(0, 90))
+                                     .part(Selector.and().condition("south", "low"), ModelInfo.create(n + "_side").uvlock(true).rotate(0, 180))
+                                     .part(Selector.and().condition("west", "low"), ModelInfo.create(n + "_side").uvlock(true).rotate(0, 270))
+                                     .part(Selector.and().condition("north", "tall"), ModelInfo.create(n + "_side_tall", sideTall).uvlock(true).rotate(0, 0))
+                                     .part(Selector.and().condition("east", "tall"), ModelInfo.create(n + "_side_tall").uvlock(true).rotate(0, 90))
+                                     .part(Selector.and().condition("south", "tall"), ModelInfo.create(n + "_side_tall").uvlock(true).rotate(0, 180))
+                                     .part(Selector.and().condition("west", "tall"), ModelInfo.create(n + "_side_tall").uvlock(true).rotate(0, 270));
     }
 
     private static StateGen cubeAllRandomized(String name, int... weights) {
-        ModelInfo[] random = new ModelInfo[weights.length];
-        for (int i = 0; i < random.length; i++) {
-            String n = name + (i == 0 ? "" : "_alt_" + i);
-            random[i] = ModelInfo.create(n, cubeAll(n)).weight(weights[i]);
-        }
-        return VariantsBlockStateGen.variants(random);
+        return simple(name, cubeAll(name).alternates(weights));
     }
 
     private static StateGen slabRandomized(String name, int... weights) {
-        ModelInfo[] lo = new ModelInfo[weights.length];
-        ModelInfo[] hi = new ModelInfo[weights.length];
-        ModelInfo[] dbl = new ModelInfo[weights.length];
-        for (int i = 0; i < lo.length; i++) {
-            String ln = name + (i == 0 ? "_slab" : "_slab_alt_" + i);
-            String hn = name + (i == 0 ? "_slab_top" : "_slab_top_alt_" + i);
-            String n = name + (i == 0 ? "" : "_alt_" + i);
-            lo[i] = ModelInfo.create(ln, slab(n)).weight(weights[i]);
-            hi[i] = ModelInfo.create(hn, slabTop(n)).weight(weights[i]);
-            dbl[i] = ModelInfo.create(n).weight(weights[i]);
-        }
-        return VariantsBlockStateGen.variants("type=bottom", lo)
-                                    .variant("type=top", hi)
-                                    .variant("type=double", dbl);
+        return VariantsBlockStateGen.variants("type=bottom", ModelInfo.create(name + "_slab", slab(name).alternates(weights)))
+                                    .variant("type=top", ModelInfo.create(name + "_slab_top", slabTop(name).alternates(weights)))
+                                    .variant("type=double", ModelInfo.create(name));
     }
 
     private static StateGen stairsRandomized(String name, int... weights) {
-        ModelInfo[] innerL = new ModelInfo[weights.length];
-        ModelInfo[] outerL = new ModelInfo[weights.length];
-        ModelInfo[] innerR = new ModelInfo[weights.length];
-        ModelInfo[] outerR = new ModelInfo[weights.length];
-        ModelInfo[] stairs = new ModelInfo[weights.length];
-        boolean[] innerM = new boolean[weights.length];
-        boolean[] outerM = new boolean[weights.length];
-        boolean[] stairsM = new boolean[weights.length];
-
-        VariantsBlockStateGen gen = VariantsBlockStateGen.variants();
-        int y = 270;
-        for (Direction dir : Direction.Type.HORIZONTAL) {
-            for (BlockHalf half : BlockHalf.values()) {
-                int x = half == BlockHalf.TOP ? 180 : 0;
-                String state = String.format("facing=%s,half=%s", dir.asString(), half.asString());
-
-                for (int i = 0; i < innerL.length; i++) {
-                    String in = name + (i == 0 ? "_stairs_inner" : "_stairs_inner_alt_" + i);
-                    String on = name + (i == 0 ? "_stairs_outer" : "_stairs_outer_alt_" + i);
-                    String sn = name + (i == 0 ? "_stairs" : "_stairs_alt_" + i);
-                    String tn = name + (i == 0 ? "" : "_alt_" + i);
-
-                    int yp = y == 0 ? 270 : y - 90;
-                    int yn = y == 270 ? 0 : y + 90;
-
-                    innerL[i] = ModelInfo.create(in, innerM[i] ? null : stairsInner(tn))
-                                         .rotate(x, x == 180 ? y : yp)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
-                    outerL[i] = ModelInfo.create(on, outerM[i] ? null : stairsOuter(tn))
-                                         .rotate(x, x == 180 ? y : yp)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
-                    innerR[i] = ModelInfo.create(in)
-                                         .rotate(x, x == 180 ? yn : y)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
-                    outerR[i] = ModelInfo.create(on)
-                                         .rotate(x, x == 180 ? yn : y)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
-                    stairs[i] = ModelInfo.create(sn, stairsM[i] ? null : stairs(tn))
-                                         .rotate(x, y)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
-
-                    innerM[i] = true;
-                    outerM[i] = true;
-                    stairsM[i] = true;
-                }
-
-                gen.variant(state + ",shape=straight", stairs);
-                gen.variant(state + ",shape=inner_left", innerL);
-                gen.variant(state + ",shape=inner_right", innerR);
-                gen.variant(state + ",shape=outer_left", outerL);
-                gen.variant(state + ",shape=outer_right", outerR);
-            }
-            if (y == 270) y = 0;
-            else y += 90;
-        }
-        return gen;
+        return stairsShaped(
+            name + "_stairs", stairs(name).alternates(weights),
+            name + "_stairs_inner", stairsInner(name).alternates(weights),
+            name + "_stairs_outer", stairsOuter(name).alternates(weights)
+        );
     }
 
     private static StateGen stepRandomized(String name, int... weights) {
-        ModelInfo[] innerL = new ModelInfo[weights.length];
-        ModelInfo[] outerL = new ModelInfo[weights.length];
-        ModelInfo[] innerR = new ModelInfo[weights.length];
-        ModelInfo[] outerR = new ModelInfo[weights.length];
-        ModelInfo[] stairs = new ModelInfo[weights.length];
-        boolean[] innerM = new boolean[weights.length];
-        boolean[] outerM = new boolean[weights.length];
-        boolean[] stairsM = new boolean[weights.length];
+        return stairsShaped(
+            name + "_step", step(name).alternates(weights),
+            name + "_step_inner", stepInner(name).alternates(weights),
+            name + "_step_outer", stepOuter(name).alternates(weights)
+        );
+    }
 
+    private static StateGen stairsShaped(String straight, ModelGen straightModel, String inner, ModelGen innerModel, String outer, ModelGen outerModel) {
         VariantsBlockStateGen gen = VariantsBlockStateGen.variants();
+        boolean first = true;
         int y = 270;
         for (Direction dir : Direction.Type.HORIZONTAL) {
             for (BlockHalf half : BlockHalf.values()) {
                 int x = half == BlockHalf.TOP ? 180 : 0;
                 String state = String.format("facing=%s,half=%s", dir.asString(), half.asString());
 
-                for (int i = 0; i < innerL.length; i++) {
-                    String in = name + (i == 0 ? "_step_inner" : "_step_inner_alt_" + i);
-                    String on = name + (i == 0 ? "_step_outer" : "_step_outer_alt_" + i);
-                    String sn = name + (i == 0 ? "_step" : "_step_alt_" + i);
-                    String tn = name + (i == 0 ? "" : "_alt_" + i);
-
-                    int yp = y == 0 ? 270 : y - 90;
-                    int yn = y == 270 ? 0 : y + 90;
-
-                    innerL[i] = ModelInfo.create(in, innerM[i] ? null : stepInner(tn))
-                                         .rotate(x, x == 180 ? y : yp)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
-                    outerL[i] = ModelInfo.create(on, outerM[i] ? null : stepOuter(tn))
-                                         .rotate(x, x == 180 ? y : yp)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
-                    innerR[i] = ModelInfo.create(in)
-                                         .rotate(x, x == 180 ? yn : y)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
-                    outerR[i] = ModelInfo.create(on)
-                                         .rotate(x, x == 180 ? yn : y)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
-                    stairs[i] = ModelInfo.create(sn, stairsM[i] ? null : step(tn))
-                                         .rotate(x, y)
-                                         .uvlock(true)
-                                         .weight(weights[i]);
+                int yp = y == 0 ? 270 : y - 90;
+                int yn = y == 270 ? 0 : y + 90;
 
-                    innerM[i] = true;
-                    outerM[i] = true;
-                    stairsM[i] = true;
-                }
-
-                gen.variant(state + ",shape=straight", stairs);
-                gen.variant(state + ",shape=inner_left", innerL);
-                gen.variant(state + ",shape=inner_right", innerR);
-                gen.variant(state + ",shape=outer_left", outerL);
-                gen.variant(state + ",shape=outer_right", outerR);
+                gen.variant(state + ",shape=straight", ModelInfo.create(straight, first ? straightModel : null).rotate(x, y).uvlock(true));
+                gen.variant(state + ",shape=inner_left", ModelInfo.create(inner, first ? innerModel : null).rotate(x, x == 180 ? y : yp).uvlock(true));
+                gen.variant(state + ",shape=inner_right", ModelInfo.create(inner).rotate(x, x == 180 ? yn : y).uvlock(true));
+                gen.variant(state + ",shape=outer_left", ModelInfo.create(outer, first ? outerModel : null).rotate(x, x == 180 ? y : yp).uvlock(true));
+                gen.variant(state + ",shape=outer_right", ModelInfo.create(outer).rotate(x, x == 180 ? yn : y).uvlock(true));
+                first = false;
             }
             if (y == 270) y = 0;
             else y += 90;
@@ -6,7 +6,6 @@ import net.minecraft.block.Block;
 import net.minecraft.data.DataCache;
 import net.minecraft.data.DataGenerator;
 import net.minecraft.data.DataProvider;
-import net.minecraft.item.Item;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.registry.Registry;
 import org.apache.logging.log4j.LogManager;
@@ -17,7 +16,6 @@ import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 
-import net.shadew.ndebris.data.models.modelgen.ModelGen;
 import net.shadew.ndebris.data.models.stategen.StateGen;
 
 public class NdStateModelProvider implements DataProvider {
@@ -30,8 +28,6 @@ public class NdStateModelProvider implements DataProvider {
     private final DataGenerator datagen;
 
     private final Map<Block, StateGen> blockStateData = new HashMap<>();
-    private final Map<Item, ModelGen> itemModelData = new HashMap<>();
-    private final Map<String, ModelGen> blockModelData = new HashMap<>();
 
     public NdStateModelProvider(DataGenerator datagen) {
         this.datagen = datagen;
@@ -40,14 +36,9 @@ public class NdStateModelProvider implements DataProvider {
     @Override
     public void run(DataCache cache) {
         blockStateData.clear();
-        blockModelData.clear();
-        itemModelData.clear();
 
-        BlockStateTable.registerBlockStates((block, stategen) -> {
-            blockStateData.put(block, stategen);
-            stategen.getModels(blockModelData::put);
-        });
-        ItemModelTable.registerItemModels(itemModelData::put);
+        // Block and item models are synthesized at runtime by the client, only blockstates are generated
+        BlockStateTable.registerBlockStates(blockStateData::put);
 
         Path path = datagen.getOutput();
         blockStateData.forEach((block, state) -> {
@@ -62,31 +53,6 @@ public class NdStateModelProvider implements DataProvider {
                 LOGGER.error("Couldn't save blockstate {}", out, exc);
             }
         });
-
-        itemModelData.forEach((item, model) -> {
-            Identifier id = Registry.ITEM.getId(item);
-            assert id != null;
-
-            Path out = getPath(path, id, "models/item");
-
-            try {
-                DataProvider.writeToPath(GSON, cache, model.makeJson(id), out);
-            } catch (IOException exc) {
-                LOGGER.error("Couldn't save item model {}", out);
-            }
-        });
-
-        blockModelData.forEach((name, model) -> {
-            Identifier id = new Identifier(name);
-
-            Path out = getPath(path, id, "models");
-
-            try {
-                DataProvider.writeToPath(GSON, cache, model.makeJson(id), out);
-            } catch (IOException exc) {
-                LOGGER.error("Couldn't save block model {}", out);
-            }
-        });
     }
 
     @Override
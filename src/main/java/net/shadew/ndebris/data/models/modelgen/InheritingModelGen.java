@@ -1,5 +1,6 @@
 package net.shadew.ndebris.data.models.modelgen;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.mojang.datafixers.util.Pair;
@@ -11,6 +12,7 @@ import java.util.List;
 public class InheritingModelGen implements ModelGen {
     private final Identifier parent;
     private final List<Pair<String, String>> textureRef = new ArrayList<>();
+    private int[] alternateWeights;
 
     public InheritingModelGen(Identifier parent) {
         this.parent = parent;
@@ -30,6 +32,15 @@ public class InheritingModelGen implements ModelGen {
         return this;
     }
 
+    /**
+     * Adds randomized alternates of this model: alternate {@code i} replaces every texture with its {@code _alt_i}
+     * variant, the first weight is that of the model itself.
+     */
+    public InheritingModelGen alternates(int... weights) {
+        this.alternateWeights = weights.length > 1 ? weights.clone() : null;
+        return this;
+    }
+
     @Override
     public JsonElement makeJson(Identifier name) {
         JsonObject root = new JsonObject();
@@ -44,6 +55,23 @@ public class InheritingModelGen implements ModelGen {
             }
             root.add("textures", textures);
         }
+        if (alternateWeights != null) {
+            JsonArray alternates = new JsonArray();
+            for (int i = 0; i < alternateWeights.length; i++) {
+                JsonObject alternate = new JsonObject();
+                alternate.addProperty("weight", alternateWeights[i]);
+                if (i > 0) {
+                    JsonObject textures = new JsonObject();
+                    for (Pair<String, String> ref : textureRef) {
+                        String texture = ref.getSecond().replace("{{name}}", name.toString());
+                        textures.addProperty(texture, texture + "_alt_" + i);
+                    }
+                    alternate.add("textures", textures);
+                }
+                alternates.add(alternate);
+            }
+            root.add("ndebris:alternates", alternates);
+        }
         return root;
     }
 
@@ -0,0 +1,172 @@
+package net.shadew.ndebris.data.reports;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.block.Block;
+import net.minecraft.data.DataCache;
+import net.minecraft.data.DataGenerator;
+import net.minecraft.data.DataProvider;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import net.shadew.ndebris.core.blocks.BlockFamilies;
+import net.shadew.ndebris.data.models.BlockStateTable;
+import net.shadew.ndebris.data.models.stategen.StateGen;
+
+/**
+ * Reports, per block and per block family, how many states, models and variants the block state table generates and
+ * how large the generated JSON is. Reports are not resources, so they are written next to the output folder, to
+ * {@code reports/ndebris_block_states.json}, and not tracked by the data cache.
+ */
+public class NdStateReportProvider implements DataProvider {
+    private static final Gson GSON = new GsonBuilder()
+                                         .setPrettyPrinting()
+                                         .disableHtmlEscaping()
+                                         .create();
+
+    private final DataGenerator datagen;
+
+    public NdStateReportProvider(DataGenerator datagen) {
+        this.datagen = datagen;
+    }
+
+    @Override
+    public void run(DataCache cache) throws IOException {
+        Map<Identifier, Stats> blocks = new TreeMap<>();
+        BlockStateTable.registerBlockStates((block, gen) -> {
+            Identifier id = Registry.BLOCK.getId(block);
+            blocks.put(id, stats(id, block, gen));
+        });
+
+        Stats total = new Stats();
+        Map<String, Stats> families = new TreeMap<>();
+        JsonObject blocksJson = new JsonObject();
+        blocks.forEach((id, stats) -> {
+            total.add(stats);
+            families.computeIfAbsent(BlockFamilies.of(id), k -> new Stats()).add(stats);
+            blocksJson.add(id.toString(), stats.toJson());
+        });
+
+        JsonObject familiesJson = new JsonObject();
+        families.forEach((family, stats) -> familiesJson.add(family, stats.toJson()));
+
+        JsonObject root = new JsonObject();
+        root.add("total", total.toJson());
+        root.add("families", familiesJson);
+        root.add("blocks", blocksJson);
+
+        Path out = datagen.getOutput().toAbsolutePath().normalize().resolveSibling("reports").resolve("ndebris_block_states.json");
+        Files.createDirectories(out.getParent());
+        try (Writer writer = Files.newBufferedWriter(out, StandardCharsets.UTF_8)) {
+            GSON.toJson(root, writer);
+        }
+    }
+
+    private static Stats stats(Identifier id, Block block, StateGen gen) {
+        Stats stats = new Stats();
+        stats.blocks = 1;
+        stats.states = block.getStateManager().getStates().size();
+
+        JsonObject json = gen.makeJson(id, block).getAsJsonObject();
+        stats.blockStateBytes = GSON.toJson(json).getBytes(StandardCharsets.UTF_8).length;
+
+        if (json.has("variants")) {
+            for (Map.Entry<String, JsonElement> variant : json.getAsJsonObject("variants").entrySet()) {
+                stats.variants++;
+                stats.variantModels += countModels(variant.getValue(), stats.models);
+                if (variant.getValue().isJsonArray()) {
+                    stats.weightedVariants++;
+                }
+            }
+        }
+        if (json.has("multipart")) {
+            for (JsonElement part : json.getAsJsonArray("multipart")) {
+                stats.multipartParts++;
+                stats.variantModels += countModels(part.getAsJsonObject().get("apply"), stats.models);
+            }
+        }
+
+        gen.getModels((name, model) -> {
+            JsonObject modelJson = model.makeJson(new Identifier(name)).getAsJsonObject();
+            stats.modelBytes += GSON.toJson(modelJson).getBytes(StandardCharsets.UTF_8).length;
+            if (modelJson.has("ndebris:alternates")) {
+                stats.alternates += modelJson.getAsJsonArray("ndebris:alternates").size() - 1;
+            }
+        });
+        return stats;
+    }
+
+    private static int countModels(JsonElement element, Set<String> models) {
+        if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            for (JsonElement entry : array) {
+                models.add(entry.getAsJsonObject().get("model").getAsString());
+            }
+            return array.size();
+        }
+        models.add(element.getAsJsonObject().get("model").getAsString());
+        return 1;
+    }
+
+    @Override
+    public String getName() {
+        return "NaturesDebris/StateReports";
+    }
+
+    private static class Stats {
+        int blocks;
+        int states;
+        // Names of the models used, so that models shared between blocks are counted once in family and total stats
+        final Set<String> models = new HashSet<>();
+        int variants;
+        int weightedVariants;
+        int variantModels;
+        int multipartParts;
+        int alternates;
+        long blockStateBytes;
+        long modelBytes;
+
+        void add(Stats stats) {
+            blocks += stats.blocks;
+            states += stats.states;
+            models.addAll(stats.models);
+            variants += stats.variants;
+            weightedVariants += stats.weightedVariants;
+            variantModels += stats.variantModels;
+            multipartParts += stats.multipartParts;
+            alternates += stats.alternates;
+            blockStateBytes += stats.blockStateBytes;
+            modelBytes += stats.modelBytes;
+        }
+
+        JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            if (blocks > 1) {
+                json.addProperty("blocks", blocks);
+            }
+            json.addProperty("states", states);
+            json.addProperty("unique_models", models.size());
+            json.addProperty("variants", variants);
+            json.addProperty("weighted_variants", weightedVariants);
+            json.addProperty("variant_models", variantModels);
+            json.addProperty("multipart_parts", multipartParts);
+            json.addProperty("texture_alternates", alternates);
+            json.addProperty("blockstate_bytes", blockStateBytes);
+            json.addProperty("synthesized_model_bytes", modelBytes);
+            return json;
+        }
+    }
+}
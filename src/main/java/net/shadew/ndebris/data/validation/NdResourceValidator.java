@@ -0,0 +1,239 @@
+package net.shadew.ndebris.data.validation;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import net.minecraft.block.Block;
+import net.minecraft.data.DataCache;
+import net.minecraft.data.DataGenerator;
+import net.minecraft.data.DataProvider;
+import net.minecraft.loot.LootTables;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.JsonHelper;
+import net.minecraft.util.registry.Registry;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+import net.shadew.ndebris.data.models.BlockStateTable;
+import net.shadew.ndebris.data.models.ItemModelTable;
+
+/**
+ * Cross-checks the generated and hand-written resources of Nature's Debris: models referenced by block states, model
+ * parents and textures (including texture alternates), block loot tables and recipe outputs. Models synthesized at
+ * runtime count as existing. All files are indexed once, after which every file is checked in parallel. Only references
+ * into our own namespace are checked. Problems are logged, they don't fail the run.
+ */
+public class NdResourceValidator implements DataProvider {
+    private static final Logger LOGGER = LogManager.getLogger();
+
+    private final DataGenerator datagen;
+    private final Map<String, Path> files = new HashMap<>();
+    private final Map<String, JsonObject> synthesized = new HashMap<>();
+    private final Queue<String> problems = new ConcurrentLinkedQueue<>();
+
+    public NdResourceValidator(DataGenerator datagen) {
+        this.datagen = datagen;
+    }
+
+    @Override
+    public void run(DataCache cache) throws IOException {
+        long start = System.nanoTime();
+        files.clear();
+        synthesized.clear();
+        problems.clear();
+
+        // Later roots override earlier ones, like resource packs do
+        index(datagen.getOutput());
+        for (Path input : datagen.getInputs()) {
+            index(input);
+        }
+
+        BlockStateTable.registerBlockStates((block, gen) -> gen.getModels(
+            (name, model) -> synthesized.put(modelPath(new Identifier(name)), model.makeJson(new Identifier(name)).getAsJsonObject())
+        ));
+        ItemModelTable.registerItemModels((item, model) -> {
+            Identifier id = Registry.ITEM.getId(item);
+            synthesized.put(modelPath(new Identifier(id.getNamespace(), "item/" + id.getPath())), model.makeJson(id).getAsJsonObject());
+        });
+
+        List<Runnable> checks = new ArrayList<>();
+        files.forEach((path, file) -> {
+            if (path.startsWith("assets/ndebris/blockstates/")) {
+                checks.add(guard(path, () -> checkBlockState(path, read(path, file))));
+            } else if (path.startsWith("assets/ndebris/models/")) {
+                checks.add(guard(path, () -> checkModel(path, read(path, file))));
+            } else if (path.startsWith("data/ndebris/recipes/")) {
+                checks.add(guard(path, () -> checkRecipe(path, read(path, file))));
+            }
+        });
+        synthesized.forEach((path, json) -> {
+            if (!files.containsKey(path)) {
+                checks.add(guard(path, () -> checkModel(path, json)));
+            }
+        });
+        for (Identifier id : Registry.BLOCK.getIds()) {
+            if (id.getNamespace().equals("ndebris")) {
+                checks.add(guard("Block " + id, () -> checkLootTable(id, Registry.BLOCK.get(id))));
+            }
+        }
+        checks.parallelStream().forEach(Runnable::run);
+
+        List<String> sorted = new ArrayList<>(problems);
+        sorted.sort(null);
+        for (String problem : sorted) {
+            LOGGER.error(problem);
+        }
+        LOGGER.info(
+            "Validated {} files and {} synthesized models in {} ms, {} problems",
+            files.size(), synthesized.size(), (System.nanoTime() - start) / 1000000, sorted.size()
+        );
+    }
+
+    private void index(Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.filter(Files::isRegularFile).forEach(file -> {
+                String path = root.relativize(file).toString().replace('\\', '/');
+                files.put(path, file);
+            });
+        }
+    }
+
+    // A file with the wrong structure, like a string where an object belongs, is a problem of that file. It must not
+    // abort the other checks, or the data generator.
+    private Runnable guard(String source, Runnable check) {
+        return () -> {
+            try {
+                check.run();
+            } catch (RuntimeException exc) {
+                problems.add(source + ": malformed (" + exc + ")");
+            }
+        };
+    }
+
+    private JsonObject read(String path, Path file) {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return JsonHelper.deserialize(reader);
+        } catch (IOException | RuntimeException exc) {
+            problems.add(path + ": unreadable JSON (" + exc.getMessage() + ")");
+            return null;
+        }
+    }
+
+    private void checkBlockState(String path, JsonObject json) {
+        if (json == null) {
+            return;
+        }
+        if (json.has("variants")) {
+            for (Map.Entry<String, JsonElement> variant : json.getAsJsonObject("variants").entrySet()) {
+                checkVariant(path, variant.getValue());
+            }
+        }
+        if (json.has("multipart")) {
+            for (JsonElement part : json.getAsJsonArray("multipart")) {
+                checkVariant(path, part.getAsJsonObject().get("apply"));
+            }
+        }
+    }
+
+    private void checkVariant(String path, JsonElement variant) {
+        if (variant.isJsonArray()) {
+            for (JsonElement entry : variant.getAsJsonArray()) {
+                checkVariant(path, entry);
+            }
+            return;
+        }
+        Identifier model = new Identifier(JsonHelper.getString(variant.getAsJsonObject(), "model"));
+        if (!modelExists(model)) {
+            problems.add(path + ": model " + model + " does not exist");
+        }
+    }
+
+    private void checkModel(String path, JsonObject json) {
+        if (json == null) {
+            return;
+        }
+        if (json.has("parent")) {
+            Identifier parent = new Identifier(JsonHelper.getString(json, "parent"));
+            if (!modelExists(parent)) {
+                problems.add(path + ": parent " + parent + " does not exist");
+            }
+        }
+        if (json.has("textures")) {
+            for (Map.Entry<String, JsonElement> texture : json.getAsJsonObject("textures").entrySet()) {
+                checkTexture(path, texture.getValue().getAsString());
+            }
+        }
+        if (json.has("ndebris:alternates")) {
+            for (JsonElement alternate : json.getAsJsonArray("ndebris:alternates")) {
+                JsonObject textures = JsonHelper.getObject(alternate.getAsJsonObject(), "textures", new JsonObject());
+                for (Map.Entry<String, JsonElement> texture : textures.entrySet()) {
+                    checkTexture(path, texture.getValue().getAsString());
+                }
+            }
+        }
+    }
+
+    private void checkTexture(String path, String texture) {
+        if (texture.startsWith("#")) {
+            return;
+        }
+        Identifier id = new Identifier(texture);
+        if (id.getNamespace().equals("ndebris") && !files.containsKey("assets/ndebris/textures/" + id.getPath() + ".png")) {
+            problems.add(path + ": texture " + id + " does not exist");
+        }
+    }
+
+    private void checkRecipe(String path, JsonObject json) {
+        if (json == null || !json.has("result")) {
+            return;
+        }
+        JsonElement result = json.get("result");
+        String item = result.isJsonObject()
+                      ? JsonHelper.getString(result.getAsJsonObject(), "item")
+                      : result.getAsString();
+        if (!Registry.ITEM.containsId(new Identifier(item))) {
+            problems.add(path + ": result " + item + " is not a registered item");
+        }
+    }
+
+    private void checkLootTable(Identifier id, Block block) {
+        Identifier table = block.getLootTableId();
+        if (table.equals(LootTables.EMPTY)) {
+            return;
+        }
+        if (!files.containsKey("data/" + table.getNamespace() + "/loot_tables/" + table.getPath() + ".json")) {
+            problems.add("Block " + id + ": loot table " + table + " does not exist");
+        }
+    }
+
+    private boolean modelExists(Identifier id) {
+        if (!id.getNamespace().equals("ndebris")) {
+            return true;
+        }
+        String path = modelPath(id);
+        return files.containsKey(path) || synthesized.containsKey(path);
+    }
+
+    private static String modelPath(Identifier id) {
+        return "assets/" + id.getNamespace() + "/models/" + id.getPath() + ".json";
+    }
+
+    @Override
+    public String getName() {
+        return "NaturesDebris/Validation";
+    }
+}
@@ -3,10 +3,16 @@ package net.shadew.ndebris.server;
 import net.fabricmc.api.DedicatedServerModInitializer;
 
 import net.shadew.ndebris.common.NaturesDebris;
+import net.shadew.ndebris.core.metrics.MetricsExporter;
+import net.shadew.ndebris.server.soak.PathingBenchmark;
+import net.shadew.ndebris.server.soak.SoakBenchmark;
 
 public class NaturesDebrisServer extends NaturesDebris implements DedicatedServerModInitializer {
     @Override
     public void onInitializeServer() {
         onInitialize();
+        MetricsExporter.register();
+        SoakBenchmark.register();
+        PathingBenchmark.register();
     }
 }
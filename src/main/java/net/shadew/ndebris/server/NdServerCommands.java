@@ -0,0 +1,13 @@
+package net.shadew.ndebris.server;
+
+import net.fabricmc.api.DedicatedServerModInitializer;
+import net.fabricmc.fabric.api.command.v1.CommandRegistrationCallback;
+
+import net.shadew.ndebris.server.command.ProfileCommand;
+
+public class NdServerCommands implements DedicatedServerModInitializer {
+    @Override
+    public void onInitializeServer() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, dedicated) -> ProfileCommand.register(dispatcher));
+    }
+}
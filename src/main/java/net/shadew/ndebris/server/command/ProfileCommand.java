@@ -0,0 +1,120 @@
+package net.shadew.ndebris.server.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.LiteralText;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.registry.Registry;
+
+import java.util.List;
+
+import net.shadew.ndebris.core.profiling.TickProbe;
+import net.shadew.ndebris.core.profiling.TickSampler;
+
+public final class ProfileCommand {
+    private static final SimpleCommandExceptionType ALREADY_RUNNING = new SimpleCommandExceptionType(new LiteralText("Nature's Debris profiler is already running"));
+    private static final SimpleCommandExceptionType NOT_RUNNING = new SimpleCommandExceptionType(new LiteralText("Nature's Debris profiler is not running"));
+    private static final SimpleCommandExceptionType NO_RESULTS = new SimpleCommandExceptionType(new LiteralText("Nature's Debris profiler has no results, start it first"));
+
+    private static final int HOTTEST_CHUNKS = 10;
+
+    private static TickSampler sampler;
+    private static boolean running;
+
+    public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(
+            CommandManager.literal("ndebris")
+                          .requires(source -> source.hasPermissionLevel(3))
+                          .then(
+                              CommandManager.literal("profile")
+                                            .then(CommandManager.literal("start").executes(ctx -> start(ctx.getSource())))
+                                            .then(CommandManager.literal("stop").executes(ctx -> stop(ctx.getSource())))
+                                            .then(CommandManager.literal("report").executes(ctx -> report(ctx.getSource())))
+                          )
+        );
+    }
+
+    private static int start(ServerCommandSource source) throws CommandSyntaxException {
+        if (running) {
+            throw ALREADY_RUNNING.create();
+        }
+        sampler = new TickSampler();
+        running = true;
+        TickProbe.addListener(sampler);
+        source.sendFeedback(new LiteralText("Started profiling Nature's Debris blocks"), true);
+        return 1;
+    }
+
+    private static int stop(ServerCommandSource source) throws CommandSyntaxException {
+        if (!running) {
+            throw NOT_RUNNING.create();
+        }
+        running = false;
+        TickProbe.removeListener(sampler);
+        sampler.stop();
+        source.sendFeedback(new LiteralText("Stopped profiling Nature's Debris blocks"), true);
+        return report(source);
+    }
+
+    private static int report(ServerCommandSource source) throws CommandSyntaxException {
+        if (sampler == null) {
+            throw NO_RESULTS.create();
+        }
+
+        List<TickSampler.BlockStats> blocks = sampler.getBlockStats();
+        double seconds = sampler.getSampledNanos() / 1e9;
+        source.sendFeedback(
+            new LiteralText(String.format("Block ticks over %.1f s (%s):", seconds, running ? "running" : "stopped"))
+                .formatted(Formatting.YELLOW),
+            false
+        );
+
+        int rank = 1;
+        for (TickSampler.BlockStats stats : blocks) {
+            source.sendFeedback(new LiteralText(String.format(
+                "%d. %s: %d ticks (%.1f/s), %.2f ms total, mean %.1f µs, p99 %.1f µs, %d scanned, %d conversions",
+                rank++,
+                Registry.BLOCK.getId(stats.getBlock()),
+                stats.getTicks(),
+                stats.getTicks() / Math.max(seconds, 1e-3),
+                stats.getTotalNanos() / 1e6,
+                stats.getMeanNanos() / 1e3,
+                stats.getPercentileNanos(0.99) / 1e3,
+                stats.getScanned(),
+                stats.getConversions()
+            )), false);
+        }
+
+        source.sendFeedback(
+            new LiteralText(String.format(
+                "Hottest chunks (%d ticked, %d with conversions):",
+                sampler.getChunkCount(),
+                sampler.getConvertingChunkCount()
+            )).formatted(Formatting.YELLOW),
+            false
+        );
+
+        rank = 1;
+        for (TickSampler.ChunkStats stats : sampler.getHottestChunks(HOTTEST_CHUNKS)) {
+            ChunkPos pos = stats.getPos();
+            source.sendFeedback(new LiteralText(String.format(
+                "%d. chunk %d, %d in %s (blocks %d, %d): %.2f ms total, %d conversions",
+                rank++,
+                pos.x, pos.z,
+                stats.getDimension().getValue(),
+                pos.getStartX(), pos.getStartZ(),
+                stats.getTotalNanos() / 1e6,
+                stats.getConversions()
+            )), false);
+        }
+
+        return blocks.size();
+    }
+
+    private ProfileCommand() {
+    }
+}
@@ -0,0 +1,177 @@
+package net.shadew.ndebris.server.soak;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.enums.BlockHalf;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.ai.pathing.Path;
+import net.minecraft.entity.mob.ZombieEntity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.shadew.ndebris.common.block.NdBlocks;
+import net.shadew.ndebris.common.block.StepBlock;
+import net.shadew.ndebris.common.block.StepConnections;
+
+/**
+ * Mob pathing benchmark for dedicated servers, enabled by setting the {@code ndebris.pathbench} system property to the
+ * number of path searches to run. On startup a deterministic area paved with steps is built above spawn, with top and
+ * waterlogged steps, grass paths and pillars to walk around. A zombie then searches paths between seeded random points in it, and
+ * the search times are logged before the server stops. The network listener is not bound in this mode.
+ */
+public final class PathingBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int SEARCHES = Integer.getInteger("ndebris.pathbench", 0);
+    private static final int WARMUP_SEARCHES = 200;
+    private static final long SEED = 0x6E64656272697301L;
+
+    private static final int RADIUS = 48;
+    private static final int MAX_DISTANCE = 24;
+    private static final int BASE_Y = 200;
+
+    private final Random random = new Random(SEED);
+    private BlockPos center;
+
+    public static boolean isEnabled() {
+        return SEARCHES > 0;
+    }
+
+    public static void register() {
+        if (isEnabled()) {
+            ServerLifecycleEvents.SERVER_STARTED.register(new PathingBenchmark()::run);
+        }
+    }
+
+    private void run(MinecraftServer server) {
+        ServerWorld world = server.getOverworld();
+        center = world.getSpawnPos();
+
+        LOGGER.info("Building step paved area at {}", center);
+        buildArea(world);
+
+        ZombieEntity zombie = EntityType.ZOMBIE.create(world);
+        if (zombie == null) {
+            LOGGER.error("Could not create pathing mob");
+            server.stop(false);
+            return;
+        }
+
+        LOGGER.info("Running {} warm-up and {} measured path searches", WARMUP_SEARCHES, SEARCHES);
+        long[] searchNanos = new long[SEARCHES];
+        long nodes = 0;
+        int found = 0;
+        for (int i = -WARMUP_SEARCHES; i < SEARCHES; i++) {
+            BlockPos from = randomPos();
+            BlockPos to = from.add(
+                random.nextInt(MAX_DISTANCE * 2 + 1) - MAX_DISTANCE,
+                0,
+                random.nextInt(MAX_DISTANCE * 2 + 1) - MAX_DISTANCE
+            );
+            zombie.refreshPositionAndAngles(from.getX() + 0.5, from.getY(), from.getZ() + 0.5, 0, 0);
+            zombie.setOnGround(true);
+
+            long start = System.nanoTime();
+            Path path = zombie.getNavigation().findPathTo(to, 0);
+            long time = System.nanoTime() - start;
+
+            if (i >= 0) {
+                searchNanos[i] = time;
+                if (path != null) {
+                    found++;
+                    nodes += path.getLength();
+                }
+            }
+        }
+
+        report(searchNanos, found, nodes);
+        server.stop(false);
+    }
+
+    private void buildArea(ServerWorld world) {
+        BlockState floor = NdBlocks.ROCK_BRICKS.getDefaultState();
+        BlockState pillar = NdBlocks.ROCK.getDefaultState();
+        BlockState path = NdBlocks.MURKY_GRASS_PATH.getDefaultState();
+        BlockState step = NdBlocks.ROCK_BRICKS_STEP.getDefaultState();
+        BlockState air = Blocks.AIR.getDefaultState();
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (int x = -RADIUS; x < RADIUS; x++) {
+            for (int z = -RADIUS; z < RADIUS; z++) {
+                // One in 16 columns is a pillar, one a grass path, three hold top steps and one a waterlogged step
+                int roll = random.nextInt(16);
+                BlockState paving = step.with(StepBlock.FACING, Direction.fromHorizontal(random.nextInt(4)))
+                                        .with(StepBlock.HALF, roll < 5 ? BlockHalf.TOP : BlockHalf.BOTTOM)
+                                        .with(StepBlock.WATERLOGGED, roll == 15);
+                if (roll == 0) {
+                    paving = pillar;
+                } else if (roll == 1) {
+                    paving = path;
+                }
+
+                for (int y = BASE_Y; y <= BASE_Y + 4; y++) {
+                    pos.set(center.getX() + x, y, center.getZ() + z);
+
+                    BlockState state;
+                    if (y == BASE_Y) {
+                        state = floor;
+                    } else if (y == BASE_Y + 1) {
+                        state = paving;
+                    } else if (y == BASE_Y + 2 && roll == 0) {
+                        state = pillar;
+                    } else {
+                        state = air;
+                    }
+                    world.setBlockState(pos, state, 2 | 16);
+                }
+            }
+        }
+
+        StepConnections.resolve(world, new BlockBox(
+            center.getX() - RADIUS, BASE_Y + 1, center.getZ() - RADIUS,
+            center.getX() + RADIUS - 1, BASE_Y + 1, center.getZ() + RADIUS - 1
+        ));
+    }
+
+    private BlockPos randomPos() {
+        return new BlockPos(
+            center.getX() + random.nextInt(RADIUS * 2) - RADIUS,
+            BASE_Y + 2,
+            center.getZ() + random.nextInt(RADIUS * 2) - RADIUS
+        );
+    }
+
+    private static void report(long[] searchNanos, int found, long nodes) {
+        long[] sorted = searchNanos.clone();
+        Arrays.sort(sorted);
+        long total = Arrays.stream(sorted).sum();
+
+        LOGGER.info("Pathing benchmark finished after {} searches, {} found a path", SEARCHES, found);
+        LOGGER.info(
+            "Search time mean {}, p50 {}, p90 {}, p99 {}, max {} (µs)",
+            micros(total / SEARCHES),
+            micros(percentile(sorted, 0.5)),
+            micros(percentile(sorted, 0.9)),
+            micros(percentile(sorted, 0.99)),
+            micros(sorted[sorted.length - 1])
+        );
+        LOGGER.info("Mean path length {} nodes", String.format("%.1f", (double) nodes / Math.max(found, 1)));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(sorted.length * percentile) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1f", nanos / 1e3);
+    }
+}
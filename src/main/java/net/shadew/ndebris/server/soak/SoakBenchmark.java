@@ -0,0 +1,209 @@
+package net.shadew.ndebris.server.soak;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.LeavesBlock;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.GameRules;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import net.shadew.ndebris.common.block.NdBlocks;
+import net.shadew.ndebris.core.metrics.NdCounter;
+import net.shadew.ndebris.core.profiling.TickListener;
+import net.shadew.ndebris.core.profiling.TickProbe;
+
+/**
+ * Soak benchmark for dedicated servers, enabled by setting the {@code ndebris.soak} system property to the number of
+ * ticks to measure. On startup a deterministic murky forest is built above spawn, then the server runs the given number
+ * of ticks after a warm-up, logs the tick time percentiles and the share of Nature's Debris in them, and stops. The
+ * network listener is not bound in this mode.
+ * <p>
+ * Vanilla only random ticks chunks near players, so the benchmark random ticks the forest chunks itself, exactly like
+ * vanilla would. For comparable numbers, use a fixed {@code level-seed} and a fresh world.
+ */
+public final class SoakBenchmark {
+    private static final Logger LOGGER = LogManager.getLogger();
+    private static final int TICKS = Integer.getInteger("ndebris.soak", 0);
+    private static final int WARMUP_TICKS = 200;
+    private static final long SEED = 0x6E64656272697300L;
+
+    private static final int RADIUS = 64;
+    private static final int BASE_Y = 200;
+    private static final int CANOPY_Y = BASE_Y + 8;
+
+    private final long[] tickNanos = new long[TICKS];
+    private final TickListener probe = (block, dimension, pos, nanos, scanned, conversions) -> this.ndebrisNanos += nanos;
+    private final Random random = new Random(SEED);
+
+    private BlockPos center;
+    private int tick = -WARMUP_TICKS;
+    private long tickStart;
+    private long ndebrisNanos;
+
+    public static boolean isEnabled() {
+        return TICKS > 0;
+    }
+
+    public static void register() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        SoakBenchmark benchmark = new SoakBenchmark();
+        ServerLifecycleEvents.SERVER_STARTED.register(benchmark::start);
+        ServerTickEvents.START_SERVER_TICK.register(server -> benchmark.tickStart = System.nanoTime());
+        ServerTickEvents.END_SERVER_TICK.register(benchmark::endTick);
+    }
+
+    private void start(MinecraftServer server) {
+        ServerWorld world = server.getOverworld();
+        center = world.getSpawnPos();
+
+        LOGGER.info("Building soak forest at {}", center);
+        buildForest(world);
+        LOGGER.info("Running {} warm-up and {} measured ticks", WARMUP_TICKS, TICKS);
+    }
+
+    private void buildForest(ServerWorld world) {
+        BlockState dirt = NdBlocks.MURKY_DIRT.getDefaultState();
+        BlockState[] topsoil = {
+            NdBlocks.MURKY_GRASS_BLOCK.getDefaultState(),
+            NdBlocks.MURKY_HUMUS.getDefaultState(),
+            NdBlocks.LEAFY_HUMUS.getDefaultState(),
+            dirt
+        };
+        int[] topsoilWeights = {40, 25, 15, 20};
+        BlockState leaves = Blocks.OAK_LEAVES.getDefaultState().with(LeavesBlock.PERSISTENT, true);
+        BlockState air = Blocks.AIR.getDefaultState();
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (int x = -RADIUS; x < RADIUS; x++) {
+            for (int z = -RADIUS; z < RADIUS; z++) {
+                for (int y = BASE_Y; y <= CANOPY_Y + 2; y++) {
+                    pos.set(center.getX() + x, y, center.getZ() + z);
+
+                    BlockState state;
+                    if (y < BASE_Y + 3) {
+                        state = dirt;
+                    } else if (y == BASE_Y + 3) {
+                        state = pick(topsoil, topsoilWeights);
+                    } else if (y >= CANOPY_Y && random.nextInt(3) == 0) {
+                        state = leaves;
+                    } else {
+                        state = air;
+                    }
+                    world.setBlockState(pos, state, 2 | 16);
+                }
+            }
+        }
+    }
+
+    private BlockState pick(BlockState[] states, int[] weights) {
+        int roll = random.nextInt(Arrays.stream(weights).sum());
+        for (int i = 0; i < states.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return states[i];
+            }
+        }
+        return states[states.length - 1];
+    }
+
+    private void endTick(MinecraftServer server) {
+        if (center == null) {
+            return;
+        }
+
+        if (tick == 0) {
+            TickProbe.addListener(probe);
+        }
+
+        randomTickForest(server.getOverworld());
+
+        if (tick >= 0) {
+            tickNanos[tick] = System.nanoTime() - tickStart;
+        }
+
+        if (++tick == TICKS) {
+            TickProbe.removeListener(probe);
+            report();
+            center = null;
+            server.stop(false);
+        }
+    }
+
+    private void randomTickForest(ServerWorld world) {
+        int speed = world.getGameRules().getInt(GameRules.RANDOM_TICK_SPEED);
+        int minChunkX = center.getX() - RADIUS >> 4;
+        int maxChunkX = center.getX() + RADIUS - 1 >> 4;
+        int minChunkZ = center.getZ() - RADIUS >> 4;
+        int maxChunkZ = center.getZ() + RADIUS - 1 >> 4;
+
+        // Positions and ticks draw from the seeded random, not the world's, so runs are repeatable
+        for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+            for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                WorldChunk chunk = world.getChunk(cx, cz);
+                for (ChunkSection section : chunk.getSectionArray()) {
+                    if (ChunkSection.isEmpty(section) || !section.hasRandomTicks()) {
+                        continue;
+                    }
+                    for (int i = 0; i < speed; i++) {
+                        int x = random.nextInt(16);
+                        int y = random.nextInt(16);
+                        int z = random.nextInt(16);
+                        BlockState state = section.getBlockState(x, y, z);
+                        if (state.hasRandomTicks()) {
+                            BlockPos pos = new BlockPos((cx << 4) + x, section.getYOffset() + y, (cz << 4) + z);
+                            state.randomTick(world, pos, random);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void report() {
+        long[] sorted = tickNanos.clone();
+        Arrays.sort(sorted);
+        long total = Arrays.stream(sorted).sum();
+
+        LOGGER.info("Soak benchmark finished after {} ticks", TICKS);
+        LOGGER.info(
+            "MSPT mean {}, p50 {}, p90 {}, p99 {}, max {}",
+            millis(total / TICKS),
+            millis(percentile(sorted, 0.5)),
+            millis(percentile(sorted, 0.9)),
+            millis(percentile(sorted, 0.99)),
+            millis(sorted[sorted.length - 1])
+        );
+        LOGGER.info(
+            "Nature's Debris block ticks took {} ms, {}% of tick time",
+            millis(ndebrisNanos),
+            String.format("%.2f", 100.0 * ndebrisNanos / Math.max(total, 1))
+        );
+        LOGGER.info(
+            "Soil ticks deferred {}, dropped {}",
+            NdCounter.SOIL_TICKS_DEFERRED.get(),
+            NdCounter.SOIL_TICKS_DROPPED.get()
+        );
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(sorted.length * percentile) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.3f", nanos / 1e6);
+    }
+}
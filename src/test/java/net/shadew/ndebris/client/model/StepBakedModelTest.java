@@ -0,0 +1,104 @@
+package net.shadew.ndebris.client.model;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Bootstrap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.StairsBlock;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.enums.BlockHalf;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.BlockView;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks which quarters of a step's boundary faces are left out next to blocks that cover part of them. The step fills
+ * all four quarters of its half, so every boundary quarter is drawn unless covered.
+ */
+class StepBakedModelTest {
+    private static final int ALL_QUARTERS = 15;
+
+    @BeforeAll
+    static void bootstrap() {
+        Bootstrap.initialize();
+    }
+
+    @Test
+    void stairCoversOneUpperQuarter() {
+        // The back of a north facing stair is on the north side, so its west face covers the north quarter of an
+        // upper half on the east side of the step
+        TestWorld world = new TestWorld();
+        world.set(BlockPos.ORIGIN.east(), stair(Direction.NORTH));
+
+        int expected = 1 << Direction.EAST.getId() * 4 + 1;
+        assertEquals(expected, StepBakedModel.coveredQuarters(world, BlockPos.ORIGIN, true, ALL_QUARTERS));
+
+        // Second time from the neighbour cache
+        assertEquals(expected, StepBakedModel.coveredQuarters(world, BlockPos.ORIGIN, true, ALL_QUARTERS));
+    }
+
+    @Test
+    void fullyCoveredFacesAreLeftToTheRenderer() {
+        // The stair's bottom covers the east face of a lower half as a whole, which the renderer culls already
+        TestWorld world = new TestWorld();
+        world.set(BlockPos.ORIGIN.east(), stair(Direction.NORTH));
+        world.set(BlockPos.ORIGIN.west(), Blocks.STONE.getDefaultState());
+
+        assertEquals(0, StepBakedModel.coveredQuarters(world, BlockPos.ORIGIN, false, ALL_QUARTERS));
+    }
+
+    @Test
+    void onlyFilledQuartersAreCovered() {
+        // Without the north quarters, the stair covers none of the step's east face
+        TestWorld world = new TestWorld();
+        world.set(BlockPos.ORIGIN.east(), stair(Direction.NORTH));
+
+        assertEquals(0, StepBakedModel.coveredQuarters(world, BlockPos.ORIGIN, true, 12));
+    }
+
+    @Test
+    void transparentNeighboursCoverNothing() {
+        TestWorld world = new TestWorld();
+        for (Direction dir : Direction.values()) {
+            world.set(BlockPos.ORIGIN.offset(dir), Blocks.GLASS.getDefaultState());
+        }
+
+        assertEquals(0, StepBakedModel.coveredQuarters(world, BlockPos.ORIGIN, true, ALL_QUARTERS));
+    }
+
+    private static BlockState stair(Direction facing) {
+        return Blocks.STONE_STAIRS.getDefaultState().with(StairsBlock.FACING, facing).with(StairsBlock.HALF, BlockHalf.BOTTOM);
+    }
+
+    private static class TestWorld implements BlockView {
+        private final Long2ObjectOpenHashMap<BlockState> states = new Long2ObjectOpenHashMap<>();
+
+        TestWorld() {
+            states.defaultReturnValue(Blocks.AIR.getDefaultState());
+        }
+
+        void set(BlockPos pos, BlockState state) {
+            states.put(pos.asLong(), state);
+        }
+
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return null;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            return states.get(pos.asLong());
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return getBlockState(pos).getFluidState();
+        }
+    }
+}
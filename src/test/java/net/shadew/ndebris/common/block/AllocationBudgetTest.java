@@ -0,0 +1,242 @@
+package net.shadew.ndebris.common.block;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Bootstrap;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.Material;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.enums.BlockHalf;
+import net.minecraft.entity.Entity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.ModifiableWorld;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import net.shadew.ndebris.core.blocks.ToolModifiable;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the bytes allocated per call of soil, step and tool modification hot paths, against a map backed stand-in
+ * for the world, and fails when a path allocates more than its budget. Mutable positions are owned by the caller, as
+ * in the game, so a zero budget doesn't depend on escape analysis. Calls are warmed up first, so one-off lazy
+ * initialisation is not counted. Averages below one byte per call count as zero.
+ */
+class AllocationBudgetTest {
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int CALLS = 100_000;
+
+    private static final double CAN_SUSTAIN_GRASS_BUDGET = 0;
+    private static final double SPREAD_BUDGET = 0;
+    private static final double GRASS_TICK_BUDGET = 0;
+    private static final double STEP_CONNECT_BUDGET = 0;
+    private static final double TOOL_PASS_BUDGET = 0;
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Block dirt;
+    private static MurkyGrassBlock grass;
+    private static StepBlock step;
+
+    // Results are summed here, so the JIT can't drop the measured calls
+    private static int sink;
+
+    @BeforeAll
+    static void bootstrap() {
+        Bootstrap.initialize();
+        dirt = new Block(AbstractBlock.Settings.of(Material.SOIL));
+        grass = new MurkyGrassBlock(AbstractBlock.Settings.of(Material.SOLID_ORGANIC)) {
+            @Override
+            protected boolean isGrowableDirt(BlockView world, BlockPos pos) {
+                return world.getBlockState(pos).isOf(dirt);
+            }
+        };
+        step = new StepBlock(AbstractBlock.Settings.of(Material.STONE));
+
+        // Registered blocks get their shape caches when Blocks loads, ours are not registered
+        for (Block block : new Block[] {dirt, grass, step}) {
+            for (BlockState state : block.getStateManager().getStates()) {
+                state.initShapeCache();
+            }
+        }
+    }
+
+    @Test
+    void canSustainGrassUnderAir() {
+        TestWorld world = new TestWorld();
+        world.set(BlockPos.ORIGIN, grass.getDefaultState());
+        BlockState state = grass.getDefaultState();
+        BlockPos.Mutable upPos = new BlockPos.Mutable();
+
+        assertWithinBudget("canSustainGrass under air", CAN_SUSTAIN_GRASS_BUDGET, () -> {
+            sink += MurkyGrassBlock.canSustainGrass(state, world, BlockPos.ORIGIN, upPos) ? 1 : 0;
+        });
+    }
+
+    @Test
+    void canSustainGrassUnderStone() {
+        TestWorld world = new TestWorld();
+        world.set(BlockPos.ORIGIN, grass.getDefaultState());
+        world.set(BlockPos.ORIGIN.up(), Blocks.STONE.getDefaultState());
+        BlockState state = grass.getDefaultState();
+        BlockPos.Mutable upPos = new BlockPos.Mutable();
+
+        assertWithinBudget("canSustainGrass under stone", CAN_SUSTAIN_GRASS_BUDGET, () -> {
+            sink += MurkyGrassBlock.canSustainGrass(state, world, BlockPos.ORIGIN, upPos) ? 1 : 0;
+        });
+    }
+
+    @Test
+    void spreadAttempt() {
+        // Grass in the middle of a 3x3 patch of dirt, with some of the dirt covered by stone
+        TestWorld world = new TestWorld();
+        for (int x = -1; x <= 1; x++) {
+            for (int z = -1; z <= 1; z++) {
+                world.set(new BlockPos(x, -1, z), dirt.getDefaultState());
+                if (x == 1) {
+                    world.set(new BlockPos(x, 0, z), Blocks.STONE.getDefaultState());
+                }
+            }
+        }
+        world.set(new BlockPos(0, -1, 0), grass.getDefaultState());
+        BlockPos pos = new BlockPos(0, -1, 0);
+        Random rand = new Random(0);
+        BlockPos.Mutable target = new BlockPos.Mutable();
+        BlockPos.Mutable upPos = new BlockPos.Mutable();
+
+        assertWithinBudget("grass spread attempt", SPREAD_BUDGET, () -> {
+            sink += grass.pickSpreadTarget(world, pos, rand, target, upPos) ? 1 : 0;
+        });
+    }
+
+    @Test
+    void grassTickWithNothingToSpreadTo() {
+        // The spread attempt layout, once the warmup has spread grass over all dirt it can reach. Only the dirt under
+        // stone is left, so every attempt fails, like for most grass in a world.
+        TestWorld world = new TestWorld();
+        for (int x = -1; x <= 1; x++) {
+            for (int z = -1; z <= 1; z++) {
+                world.set(new BlockPos(x, -1, z), dirt.getDefaultState());
+                if (x == 1) {
+                    world.set(new BlockPos(x, 0, z), Blocks.STONE.getDefaultState());
+                }
+            }
+        }
+        BlockPos pos = new BlockPos(0, -1, 0);
+        world.set(pos, grass.getDefaultState());
+        BlockState state = grass.getDefaultState();
+        Random rand = new Random(0);
+        BlockPos.Mutable mpos = new BlockPos.Mutable();
+        BlockPos.Mutable upPos = new BlockPos.Mutable();
+
+        assertWithinBudget("grass tick", GRASS_TICK_BUDGET, () -> {
+            grass.tickGrass(state, world, pos, rand, mpos, upPos);
+        });
+        for (int z = -1; z <= 1; z++) {
+            assertTrue(world.getBlockState(new BlockPos(0, -1, z)).isOf(grass), "grass spread during the warmup");
+        }
+    }
+
+    @Test
+    void stepConnect() {
+        // A north facing step between an east and a west facing step, so both corner checks look at neighbours
+        TestWorld world = new TestWorld();
+        BlockState north = step.getDefaultState().with(StepBlock.FACING, Direction.NORTH).with(StepBlock.HALF, BlockHalf.BOTTOM);
+        world.set(BlockPos.ORIGIN, north);
+        world.set(BlockPos.ORIGIN.north(), north.with(StepBlock.FACING, Direction.EAST));
+        world.set(BlockPos.ORIGIN.south(), north.with(StepBlock.FACING, Direction.WEST));
+
+        BlockPos south = BlockPos.ORIGIN.south();
+        BlockPos.Mutable mpos = new BlockPos.Mutable();
+
+        assertWithinBudget("StepBlock.connect", STEP_CONNECT_BUDGET, () -> {
+            sink += StepBlock.connect(north, world, BlockPos.ORIGIN, mpos).ordinal();
+            sink += StepBlock.connect(world.getBlockState(south), world, south, mpos).ordinal();
+        });
+    }
+
+    @Test
+    void toolModificationPass() {
+        ItemStack stick = new ItemStack(Items.STICK);
+        BlockState state = grass.getDefaultState();
+
+        assertWithinBudget("handleModification passing", TOOL_PASS_BUDGET, () -> {
+            if (grass.handleModification(state, null, BlockPos.ORIGIN, stick, Direction.UP, null, null) == ToolModifiable.PASS) {
+                sink++;
+            }
+        });
+    }
+
+    private static void assertWithinBudget(String name, double budget, Runnable call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+
+        long thread = Thread.currentThread().getId();
+        long start = THREADS.getThreadAllocatedBytes(thread);
+        long overhead = THREADS.getThreadAllocatedBytes(thread) - start;
+
+        start = THREADS.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < CALLS; i++) {
+            call.run();
+        }
+        long allocated = THREADS.getThreadAllocatedBytes(thread) - start - overhead;
+
+        double perCall = Math.floor((double) allocated / CALLS);
+        assertTrue(perCall <= budget, () -> name + " allocates " + perCall + " bytes per call, budget is " + budget);
+    }
+
+    private static class TestWorld implements BlockView, ModifiableWorld {
+        private final Long2ObjectOpenHashMap<BlockState> states = new Long2ObjectOpenHashMap<>();
+
+        TestWorld() {
+            states.defaultReturnValue(Blocks.AIR.getDefaultState());
+        }
+
+        void set(BlockPos pos, BlockState state) {
+            states.put(pos.asLong(), state);
+        }
+
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return null;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            return states.get(pos.asLong());
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return getBlockState(pos).getFluidState();
+        }
+
+        @Override
+        public boolean setBlockState(BlockPos pos, BlockState state, int flags, int maxUpdateDepth) {
+            set(pos, state);
+            return true;
+        }
+
+        @Override
+        public boolean removeBlock(BlockPos pos, boolean move) {
+            return setBlockState(pos, getFluidState(pos).getBlockState(), 3, 512);
+        }
+
+        @Override
+        public boolean breakBlock(BlockPos pos, boolean drop, Entity breakingEntity, int maxUpdateDepth) {
+            return removeBlock(pos, false);
+        }
+    }
+}
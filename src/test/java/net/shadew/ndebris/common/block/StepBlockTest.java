@@ -0,0 +1,157 @@
+package net.shadew.ndebris.common.block;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Material;
+import net.minecraft.block.enums.BlockHalf;
+import net.minecraft.block.enums.StairShape;
+import net.minecraft.util.BlockMirror;
+import net.minecraft.util.BlockRotation;
+import net.minecraft.util.math.Direction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.shadew.ndebris.core.blocks.IndexedState;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StepBlockTest {
+    private static StepBlock block;
+
+    @BeforeAll
+    static void bootstrap() {
+        Bootstrap.initialize();
+        block = new StepBlock(AbstractBlock.Settings.of(Material.STONE));
+    }
+
+    @Test
+    void stateIndicesMatchStateList() {
+        List<BlockState> states = block.getStateManager().getStates();
+        for (int i = 0, l = states.size(); i < l; i++) {
+            assertEquals(i, IndexedState.indexOf(states.get(i)));
+        }
+    }
+
+    // Mixins are not applied in unit tests, so this checks the indexing the state manager mixin runs on stand-in states
+    @Test
+    void assignIndicesIndexesEveryState() {
+        List<Object> states = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            states.add(new TestIndexedState());
+        }
+        states.add(2, "not indexed");
+
+        IndexedState.assignIndices(states);
+        assertEquals(0, ((IndexedState) states.get(0)).ndebris_getStateIndex());
+        assertEquals(1, ((IndexedState) states.get(1)).ndebris_getStateIndex());
+        assertEquals(3, ((IndexedState) states.get(3)).ndebris_getStateIndex());
+        assertEquals(5, ((IndexedState) states.get(5)).ndebris_getStateIndex());
+    }
+
+    @Test
+    void rotateTableMatchesSwitch() {
+        for (BlockState state : block.getStateManager().getStates()) {
+            for (BlockRotation rot : BlockRotation.values()) {
+                assertSame(StepBlock.computeRotate(state, rot), state.rotate(rot), () -> state + " rotated " + rot);
+            }
+        }
+    }
+
+    @Test
+    void mirrorTableMatchesSwitch() {
+        for (BlockState state : block.getStateManager().getStates()) {
+            for (BlockMirror mirror : BlockMirror.values()) {
+                assertSame(block.computeMirror(state, mirror), state.mirror(mirror), () -> state + " mirrored " + mirror);
+            }
+        }
+    }
+
+    // The cases below are written out by hand, so they check the transformations themselves and not just the tables
+
+    @Test
+    void rotateTurnsFacingAndKeepsShape() {
+        assertSame(
+            step(Direction.EAST, BlockHalf.TOP, StairShape.OUTER_LEFT, true),
+            step(Direction.NORTH, BlockHalf.TOP, StairShape.OUTER_LEFT, true).rotate(BlockRotation.CLOCKWISE_90)
+        );
+        assertSame(
+            step(Direction.NORTH, BlockHalf.BOTTOM, StairShape.INNER_RIGHT, false),
+            step(Direction.SOUTH, BlockHalf.BOTTOM, StairShape.INNER_RIGHT, false).rotate(BlockRotation.CLOCKWISE_180)
+        );
+        assertSame(
+            step(Direction.SOUTH, BlockHalf.BOTTOM, StairShape.STRAIGHT, false),
+            step(Direction.WEST, BlockHalf.BOTTOM, StairShape.STRAIGHT, false).rotate(BlockRotation.COUNTERCLOCKWISE_90)
+        );
+        assertSame(
+            step(Direction.WEST, BlockHalf.TOP, StairShape.OUTER_RIGHT, false),
+            step(Direction.WEST, BlockHalf.TOP, StairShape.OUTER_RIGHT, false).rotate(BlockRotation.NONE)
+        );
+    }
+
+    @Test
+    void mirrorLeftRightFlipsNorthSouthSteps() {
+        assertSame(
+            step(Direction.SOUTH, BlockHalf.BOTTOM, StairShape.INNER_RIGHT, false),
+            step(Direction.NORTH, BlockHalf.BOTTOM, StairShape.INNER_LEFT, false).mirror(BlockMirror.LEFT_RIGHT)
+        );
+        assertSame(
+            step(Direction.NORTH, BlockHalf.TOP, StairShape.OUTER_LEFT, true),
+            step(Direction.SOUTH, BlockHalf.TOP, StairShape.OUTER_RIGHT, true).mirror(BlockMirror.LEFT_RIGHT)
+        );
+        assertSame(
+            step(Direction.SOUTH, BlockHalf.BOTTOM, StairShape.STRAIGHT, false),
+            step(Direction.NORTH, BlockHalf.BOTTOM, StairShape.STRAIGHT, false).mirror(BlockMirror.LEFT_RIGHT)
+        );
+        assertSame(
+            step(Direction.EAST, BlockHalf.BOTTOM, StairShape.OUTER_LEFT, false),
+            step(Direction.EAST, BlockHalf.BOTTOM, StairShape.OUTER_LEFT, false).mirror(BlockMirror.LEFT_RIGHT)
+        );
+    }
+
+    @Test
+    void mirrorFrontBackFlipsEastWestSteps() {
+        assertSame(
+            step(Direction.WEST, BlockHalf.BOTTOM, StairShape.OUTER_RIGHT, false),
+            step(Direction.EAST, BlockHalf.BOTTOM, StairShape.OUTER_LEFT, false).mirror(BlockMirror.FRONT_BACK)
+        );
+        // Inner corners keep their shape, like vanilla stairs do
+        assertSame(
+            step(Direction.EAST, BlockHalf.TOP, StairShape.INNER_LEFT, true),
+            step(Direction.WEST, BlockHalf.TOP, StairShape.INNER_LEFT, true).mirror(BlockMirror.FRONT_BACK)
+        );
+        assertSame(
+            step(Direction.NORTH, BlockHalf.BOTTOM, StairShape.INNER_RIGHT, false),
+            step(Direction.NORTH, BlockHalf.BOTTOM, StairShape.INNER_RIGHT, false).mirror(BlockMirror.FRONT_BACK)
+        );
+        assertSame(
+            step(Direction.SOUTH, BlockHalf.TOP, StairShape.STRAIGHT, false),
+            step(Direction.SOUTH, BlockHalf.TOP, StairShape.STRAIGHT, false).mirror(BlockMirror.NONE)
+        );
+    }
+
+    private static BlockState step(Direction facing, BlockHalf half, StairShape shape, boolean waterlogged) {
+        return block.getDefaultState()
+                    .with(StepBlock.FACING, facing)
+                    .with(StepBlock.HALF, half)
+                    .with(StepBlock.SHAPE, shape)
+                    .with(StepBlock.WATERLOGGED, waterlogged);
+    }
+
+    private static class TestIndexedState implements IndexedState {
+        private int index = -1;
+
+        @Override
+        public int ndebris_getStateIndex() {
+            return index;
+        }
+
+        @Override
+        public void ndebris_setStateIndex(int index) {
+            this.index = index;
+        }
+    }
+}
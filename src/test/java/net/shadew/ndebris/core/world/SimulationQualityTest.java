@@ -0,0 +1,252 @@
+package net.shadew.ndebris.core.world;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Bootstrap;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.Material;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.Entity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.tag.BlockTags;
+import net.minecraft.tag.RequiredTagListRegistry;
+import net.minecraft.tag.Tag;
+import net.minecraft.tag.TagGroup;
+import net.minecraft.tag.TagManager;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.ModifiableWorld;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import net.shadew.ndebris.common.block.MurkyHumusBlock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs soil simulations at every quality level, with the same seeds, to check that lower levels slow conversions down
+ * in proportion to the work they skip, but end up converting the same blocks. Grass spreading is simplified, humus is
+ * ticked by the real block in a map backed stand-in for the world.
+ */
+class SimulationQualityTest {
+    private static final int RUNS = 40;
+    private static final int SIZE = 24;
+    private static final int MAX_TICKS = 50_000_000;
+
+    // Spread attempts in one tick all start from the same block, so fewer attempts per tick spread slightly better per
+    // attempt. Together with the sampling noise of 40 runs that stays well within this margin.
+    private static final double TOLERANCE = 0.15;
+
+    private static final int HUMUS_SIZE = 32;
+
+    private static Block leafy;
+    private static MurkyHumusBlock humus;
+
+    @BeforeAll
+    static void bootstrap() {
+        Bootstrap.initialize();
+
+        // Humus finds leaves through the leaves tag, which no data pack binds here
+        TagGroup<Block> blockTags = TagGroup.create(ImmutableMap.of(
+            BlockTags.LEAVES.getId(), Tag.of(ImmutableSet.of(Blocks.OAK_LEAVES))
+        ));
+        RequiredTagListRegistry.updateTagManager(TagManager.create(
+            blockTags, TagGroup.createEmpty(), TagGroup.createEmpty(), TagGroup.createEmpty()
+        ));
+
+        leafy = new Block(AbstractBlock.Settings.of(Material.SOIL));
+        humus = new MurkyHumusBlock(AbstractBlock.Settings.of(Material.SOIL)) {
+            @Override
+            protected BlockState getLeafyBlock() {
+                return leafy.getDefaultState();
+            }
+        };
+    }
+
+    @AfterEach
+    void restoreLevel() {
+        SimulationQuality.setLevel(SimulationQuality.MAX_LEVEL);
+    }
+
+    @Test
+    void grassCoversSameAreaAtEveryLevel() {
+        double fullMean = meanGrassCoverTicks(SimulationQuality.MAX_LEVEL);
+        for (int level = 0; level < SimulationQuality.MAX_LEVEL; level++) {
+            double expected = fullMean * (SimulationQuality.MAX_LEVEL + 1) / (level + 1);
+            double mean = meanGrassCoverTicks(level);
+            assertEquals(expected, mean, expected * TOLERANCE, "mean ticks to cover the area at level " + level);
+        }
+    }
+
+    @Test
+    void humusConvertsSameBlocksAtEveryLevel() {
+        // One full scan of every block finds which blocks can convert at all
+        SimulationQuality.setLevel(SimulationQuality.MAX_LEVEL);
+        TestWorld scanned = humusLayout();
+        boolean[] convertible = new boolean[HUMUS_SIZE * HUMUS_SIZE];
+        int count = 0;
+        for (int cell = 0; cell < convertible.length; cell++) {
+            convertible[cell] = tickHumus(scanned, cell, new Random(cell));
+            count += convertible[cell] ? 1 : 0;
+        }
+        assertTrue(count > 0 && count < convertible.length, "layout has both humus that converts and that doesn't");
+
+        double fullMean = 0;
+        for (int level = SimulationQuality.MAX_LEVEL; level >= 0; level--) {
+            SimulationQuality.setLevel(level);
+            long ticks = 0;
+            for (int run = 0; run < RUNS; run++) {
+                boolean[] converted = new boolean[convertible.length];
+                ticks += simulateHumus(new Random(run), count, converted);
+                assertArrayEquals(convertible, converted, "converted humus at level " + level);
+            }
+
+            double mean = (double) ticks / RUNS;
+            if (level == SimulationQuality.MAX_LEVEL) {
+                fullMean = mean;
+            } else {
+                double expected = fullMean * (SimulationQuality.MAX_LEVEL + 1) / (level + 1);
+                assertEquals(expected, mean, expected * TOLERANCE, "mean ticks to convert all humus at level " + level);
+            }
+        }
+    }
+
+    private static double meanGrassCoverTicks(int level) {
+        SimulationQuality.setLevel(level);
+        long ticks = 0;
+        for (int run = 0; run < RUNS; run++) {
+            ticks += simulateGrass(new Random(run));
+        }
+        return (double) ticks / RUNS;
+    }
+
+    // A flat layer of murky dirt with one grass block in the middle. Every tick one random block of the layer gets a
+    // soil tick, which spreads grass like MurkyGrassBlock does. Returns the number of ticks until all dirt is grass.
+    private static int simulateGrass(Random rand) {
+        boolean[] grass = new boolean[SIZE * SIZE];
+        grass[SIZE / 2 * SIZE + SIZE / 2] = true;
+        int count = 1;
+
+        for (int tick = 1; tick <= MAX_TICKS; tick++) {
+            int cell = rand.nextInt(SIZE * SIZE);
+            if (!grass[cell]) {
+                continue;
+            }
+
+            int attempts = SimulationQuality.getGrassSpreadAttempts();
+            for (int i = 0; i < attempts; i++) {
+                int x = cell % SIZE + rand.nextInt(3) - 1;
+                int y = rand.nextInt(5) - 3;
+                int z = cell / SIZE + rand.nextInt(3) - 1;
+                if (y != 0 || x < 0 || z < 0 || x >= SIZE || z >= SIZE || grass[z * SIZE + x]) {
+                    continue;
+                }
+                grass[z * SIZE + x] = true;
+                if (++count == grass.length) {
+                    return tick;
+                }
+            }
+        }
+        return fail("grass did not cover the area in " + MAX_TICKS + " ticks");
+    }
+
+    // A layer of humus blocks under columns that have leaves at a random height, or no leaves, or a stone block
+    // between the humus and the leaves. Leaves of a column are also found by the humus next to it.
+    private static TestWorld humusLayout() {
+        Random rand = new Random(42);
+        TestWorld world = new TestWorld();
+        for (int z = 0; z < HUMUS_SIZE; z++) {
+            for (int x = 0; x < HUMUS_SIZE; x++) {
+                world.set(new BlockPos(x, 0, z), humus.getDefaultState());
+
+                int kind = rand.nextInt(4);
+                int height = 1 + rand.nextInt(20);
+                if (kind != 0) {
+                    world.set(new BlockPos(x, height, z), Blocks.OAK_LEAVES.getDefaultState());
+                }
+                if (kind == 1 && height > 1) {
+                    world.set(new BlockPos(x, 1 + rand.nextInt(height - 1), z), Blocks.STONE.getDefaultState());
+                }
+            }
+        }
+        return world;
+    }
+
+    // Gives one humus block of the layout a soil tick, and returns whether it became leafy
+    private static boolean tickHumus(TestWorld world, int cell, Random rand) {
+        BlockPos pos = new BlockPos(cell % HUMUS_SIZE, 0, cell / HUMUS_SIZE);
+        BlockState state = world.getBlockState(pos);
+        if (!state.isOf(humus)) {
+            return false;
+        }
+        humus.tickHumus(state, world, pos, rand, new BlockPos.Mutable(), new BlockPos.Mutable());
+        return world.getBlockState(pos).isOf(leafy);
+    }
+
+    // Every tick one random block of the humus layout gets a soil tick. Returns the number of ticks until the given
+    // number of blocks has converted.
+    private static int simulateHumus(Random rand, int count, boolean[] converted) {
+        TestWorld world = humusLayout();
+        int remaining = count;
+        for (int tick = 1; tick <= MAX_TICKS; tick++) {
+            int cell = rand.nextInt(converted.length);
+            if (tickHumus(world, cell, rand)) {
+                converted[cell] = true;
+                if (--remaining == 0) {
+                    return tick;
+                }
+            }
+        }
+        return fail("humus did not convert in " + MAX_TICKS + " ticks");
+    }
+
+    private static class TestWorld implements BlockView, ModifiableWorld {
+        private final Long2ObjectOpenHashMap<BlockState> states = new Long2ObjectOpenHashMap<>();
+
+        TestWorld() {
+            states.defaultReturnValue(Blocks.AIR.getDefaultState());
+        }
+
+        void set(BlockPos pos, BlockState state) {
+            states.put(pos.asLong(), state);
+        }
+
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return null;
+        }
+
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            return states.get(pos.asLong());
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return getBlockState(pos).getFluidState();
+        }
+
+        @Override
+        public boolean setBlockState(BlockPos pos, BlockState state, int flags, int maxUpdateDepth) {
+            set(pos, state);
+            return true;
+        }
+
+        @Override
+        public boolean removeBlock(BlockPos pos, boolean move) {
+            return setBlockState(pos, getFluidState(pos).getBlockState(), 3, 512);
+        }
+
+        @Override
+        public boolean breakBlock(BlockPos pos, boolean drop, Entity breakingEntity, int maxUpdateDepth) {
+            return removeBlock(pos, false);
+        }
+    }
+}